@@ -2,7 +2,7 @@ import { useEffect, useState } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
 import { useSelector } from 'react-redux';
 import type { RootState } from '../store';
-import api from '../services/api';
+import api, { fetchAllPages } from '../services/api';
 
 interface Application {
   applicationId: number;
@@ -36,9 +36,9 @@ const ApplicationManagement = () => {
         setSelectedJob(jobResponse.data);
 
         // Fetch applications for this job
-        const response = await api.get(`/applications/job/${jobId}`);
-        console.log('Applications fetched:', response.data);
-        setApplications(response.data);
+        const jobApplications = await fetchAllPages<Application>(`/applications/job/${jobId}`);
+        console.log('Applications fetched:', jobApplications);
+        setApplications(jobApplications);
         setLoading(false);
       } catch (err: any) {
         console.error('Error fetching applications:', err);
@@ -3,7 +3,7 @@ import { useNavigate } from 'react-router-dom';
 import { useSelector } from 'react-redux';
 import type { RootState } from '../store';
 import ApplicationSearch from './ApplicationSearch';
-import api from '../services/api';
+import api, { fetchAllPages } from '../services/api';
 
 interface Application {
   applicationId: number;
@@ -33,8 +33,7 @@ const MyApplications = () => {
     const fetchApplications = async () => {
       try {
         // Fetch applications
-        const response = await api.get('/applications');
-        const applicationData = response.data;
+        const applicationData = await fetchAllPages<Application>('/applications');
 
         // Fetch job details for each application
         const applicationsWithJobDetails = await Promise.all(
@@ -37,6 +37,21 @@ api.interceptors.response.use(
   }
 );
 
+// Largest page the application lists return
+const APPLICATION_PAGE_SIZE = 500;
+
+// The application lists are paged; the X-Has-Next header says whether another page exists
+export const fetchAllPages = async <T>(url: string): Promise<T[]> => {
+  const items: T[] = [];
+  for (let page = 0; ; page++) {
+    const response = await api.get<T[]>(url, { params: { page, size: APPLICATION_PAGE_SIZE } });
+    items.push(...response.data);
+    if (response.headers['x-has-next'] !== 'true') {
+      return items;
+    }
+  }
+};
+
 export type UserRole = 'JOB_SEEKER' | 'RECRUITER';
 
 export interface RegisterData {
@@ -203,9 +218,12 @@ export interface JobApplication {
   status: string;
 }
 
+// One key per apply attempt: a resent request (e.g. after a dropped response) gets the first answer
 export const applyForJob = async (jobId: number): Promise<void> => {
   try {
-    const response = await api.post(`/applications/${jobId}`);
+    const response = await api.post(`/applications/${jobId}`, null, {
+      headers: { 'Idempotency-Key': crypto.randomUUID() }
+    });
     console.log('Application response:', response.data);
   } catch (error: any) {
     console.error('Application error:', error);
@@ -216,9 +234,9 @@ export const applyForJob = async (jobId: number): Promise<void> => {
 export const checkJobApplication = async (jobId: number): Promise<boolean> => {
   try {
     console.log('Checking applications for job:', jobId);
-    const response = await api.get<JobApplication[]>('/applications');
-    console.log('All user applications:', response.data);
-    const hasApplied = response.data.some(app => app.job_id === jobId);
+    const applications = await fetchAllPages<JobApplication>('/applications');
+    console.log('All user applications:', applications);
+    const hasApplied = applications.some(app => app.job_id === jobId);
     console.log('Has applied:', hasApplied);
     return hasApplied;
   } catch (error: any) {
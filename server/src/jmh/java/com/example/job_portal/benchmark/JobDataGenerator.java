@@ -0,0 +1,124 @@
+package com.example.job_portal.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills the users and jobs tables with deterministic synthetic data. The
+ * same seed and row count always produce the same rows, so runs on
+ * different commits search the same dataset.
+ */
+public class JobDataGenerator {
+
+    static final String[] TITLES = {
+        "Software Engineer", "Backend Developer", "Frontend Developer", "Full Stack Developer",
+        "Data Scientist", "Data Engineer", "DevOps Engineer", "Site Reliability Engineer",
+        "Product Manager", "Project Manager", "QA Engineer", "Mobile Developer",
+        "Machine Learning Engineer", "Security Analyst", "Database Administrator", "UX Designer",
+        "Technical Writer", "Solutions Architect", "Support Engineer", "Engineering Manager"
+    };
+
+    static final String[] SENIORITY = {"Junior", "Mid-level", "Senior", "Lead", "Principal", "Staff"};
+
+    static final String[] SKILLS = {
+        "java", "spring", "kotlin", "python", "django", "react", "typescript", "angular",
+        "postgresql", "mysql", "kafka", "docker", "kubernetes", "aws", "azure", "gcp",
+        "terraform", "go", "rust", "c#", "c++", "graphql", "redis", "elasticsearch",
+        "spark", "airflow", "tensorflow", "pytorch", "swift", "android"
+    };
+
+    static final String[] COMPANIES = {
+        "Acme Corp", "Globex", "Initech", "Umbrella", "Hooli", "Stark Industries", "Wayne Enterprises",
+        "Cyberdyne", "Soylent", "Tyrell", "Wonka", "Aperture", "Black Mesa", "Vandelay", "Massive Dynamic",
+        "Oscorp", "Pied Piper", "Gringotts", "Monarch", "Dunder Mifflin"
+    };
+
+    static final String[] LOCATIONS = {
+        "Istanbul, Turkey", "Ankara, Turkey", "Izmir, Turkey", "Berlin, Germany", "Munich, Germany",
+        "London, UK", "Manchester, UK", "York, UK", "New York, NY", "San Francisco, CA", "Austin, TX",
+        "Seattle, WA", "Toronto, Canada", "Amsterdam, Netherlands", "Paris, France", "Madrid, Spain",
+        "Warsaw, Poland", "Stockholm, Sweden", "Dublin, Ireland", "Remote"
+    };
+
+    static final String[] JOB_TYPES = {"FULL_TIME", "PART_TIME", "CONTRACT", "INTERNSHIP"};
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int JOBS_PER_RECRUITER = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobDataGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Replaces the contents of the jobs and users tables with the given number of jobs.
+     */
+    public void generate(int jobs, long seed) {
+        Random random = new Random(seed);
+        jdbcTemplate.execute("TRUNCATE TABLE job_applications, jobs, users RESTART IDENTITY CASCADE");
+
+        int recruiters = Math.max(1, jobs / JOBS_PER_RECRUITER);
+        List<Object[]> userRows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= recruiters; i++) {
+            userRows.add(new Object[] {"recruiter" + i, "recruiter" + i + "@example.com", "{noop}password", "RECRUITER"});
+            if (userRows.size() == BATCH_SIZE || i == recruiters) {
+                jdbcTemplate.batchUpdate("INSERT INTO users (username, email, password, role) VALUES (?, ?, ?, ?)", userRows);
+                userRows.clear();
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> jobRows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= jobs; i++) {
+            String title = pick(random, SENIORITY) + " " + pick(random, TITLES);
+            String company = pick(random, COMPANIES);
+            String skills = pick(random, SKILLS) + ", " + pick(random, SKILLS) + " and " + pick(random, SKILLS);
+            int minSalary = 20_000 + random.nextInt(120) * 1_000;
+            int maxSalary = minSalary + random.nextInt(60) * 1_000;
+
+            jobRows.add(new Object[] {
+                title,
+                company,
+                pick(random, LOCATIONS),
+                company + " is hiring a " + title + " to build and run services with " + skills + ".",
+                "Experience with " + skills + ". " + (1 + random.nextInt(10)) + "+ years of experience.",
+                BigDecimal.valueOf(minSalary),
+                BigDecimal.valueOf(maxSalary),
+                pick(random, JOB_TYPES),
+                random.nextInt(10) < 8 ? "OPEN" : "CLOSED",
+                Timestamp.valueOf(now.minusMinutes(random.nextInt(365 * 24 * 60))),
+                1 + random.nextInt(recruiters)
+            });
+            if (jobRows.size() == BATCH_SIZE || i == jobs) {
+                jdbcTemplate.batchUpdate(
+                    "INSERT INTO jobs (title, company, location, description, requirements, min_salary, max_salary, " +
+                    "type, status, posted_date, recruiter_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    jobRows
+                );
+                jobRows.clear();
+            }
+        }
+
+        jdbcTemplate.execute("ANALYZE users");
+        jdbcTemplate.execute("ANALYZE jobs");
+    }
+
+    /**
+     * @return Number of rows in the jobs table.
+     */
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM jobs", Long.class);
+        return count != null ? count : 0;
+    }
+
+    static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.job_portal.benchmark;
+
+import com.example.job_portal.dto.JobSearchDTO;
+import com.example.job_portal.model.Job;
+import com.example.job_portal.repository.JobRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency percentiles of the JPQL JobRepository.searchJobs
+ * query on its own (LIKE filters, COUNT query and sort), over the same
+ * datasets and searches as {@link JobSearchBenchmark}.
+ *
+ * Run with:
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="JobRepositorySearchBenchmark -p rows=10000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class JobRepositorySearchBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"KEYWORD", "LOCATION", "SALARY", "JOB_TYPE", "KEYWORD_LOCATION", "KEYWORD_SALARY_JOB_TYPE", "ALL"})
+    private SearchQueries filter;
+
+    @Param({"postedDate:DESC", "minSalary:ASC", "title:ASC"})
+    private String sort;
+
+    private JobSearchDataset dataset;
+    private JobRepository jobRepository;
+    private JobSearchDTO[] searches;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataset = new JobSearchDataset(rows, "database");
+        jobRepository = dataset.getBean(JobRepository.class);
+        searches = filter.build(sort, JobSearchDataset.SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        dataset.close();
+    }
+
+    @Benchmark
+    public Page<Job> repositorySearch(SearchCursor cursor) {
+        JobSearchDTO search = cursor.next(searches);
+        Sort order = Sort.by(Sort.Direction.fromString(search.getSortDirection()), search.getSortBy());
+        return jobRepository.searchJobs(
+            search.getKeyword(),
+            search.getLocation(),
+            search.getJobType(),
+            search.getMinSalary() != null ? BigDecimal.valueOf(search.getMinSalary()) : null,
+            search.getMaxSalary() != null ? BigDecimal.valueOf(search.getMaxSalary()) : null,
+            PageRequest.of(search.getPage(), search.getSize(), order)
+        );
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.job_portal.benchmark;
+
+import com.example.job_portal.dto.JobSearchDTO;
+import com.example.job_portal.model.Job;
+import com.example.job_portal.service.JobService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency percentiles of JobService.searchJobs against an
+ * embedded PostgreSQL database holding 10k, 100k or 1M generated jobs, per
+ * search engine, filter combination and sort order. The result cache is
+ * disabled so every call reaches the engine.
+ *
+ * Run with:
+ *   mvn -Pbenchmark test-compile exec:exec
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="JobSearchBenchmark -p rows=100000 -p engine=memory -p filter=ALL"
+ *
+ * Results are also written to target/jmh-result.json for comparing runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class JobSearchBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"database", "memory", "fulltext"})
+    private String engine;
+
+    @Param({"KEYWORD", "LOCATION", "SALARY", "JOB_TYPE", "KEYWORD_LOCATION", "KEYWORD_SALARY_JOB_TYPE", "ALL"})
+    private SearchQueries filter;
+
+    @Param({"postedDate:DESC", "minSalary:ASC", "title:ASC"})
+    private String sort;
+
+    private JobSearchDataset dataset;
+    private JobService jobService;
+    private JobSearchDTO[] searches;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataset = new JobSearchDataset(rows, engine);
+        jobService = dataset.getBean(JobService.class);
+        searches = filter.build(sort, JobSearchDataset.SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        dataset.close();
+    }
+
+    @Benchmark
+    public Page<Job> serviceSearch(SearchCursor cursor) {
+        return jobService.searchJobs(cursor.next(searches));
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.job_portal.benchmark;
+
+import com.example.job_portal.JobPortalApplication;
+import com.example.job_portal.search.JobIndex;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An embedded PostgreSQL server holding a generated dataset, with the
+ * application context running against it (optionally with its web server
+ * on a random port).
+ *
+ * The data directory is kept under target/jmh-data per row count, so forks
+ * and later runs reuse an existing dataset instead of generating it again.
+ * Delete the directory (or run mvn clean) to regenerate.
+ */
+class JobSearchDataset implements AutoCloseable {
+
+    static final long SEED = 20250101L;
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    JobSearchDataset(int rows, String engine) throws IOException {
+        this(rows, Map.of("jobportal.search.engine", engine), false);
+    }
+
+    /**
+     * @param overrides Application properties to set on top of the benchmark defaults.
+     * @param web Whether to start the embedded web server.
+     */
+    JobSearchDataset(int rows, Map<String, String> overrides, boolean web) throws IOException {
+        postgres = EmbeddedPostgres.builder()
+                .setDataDirectory(new File("target/jmh-data/jobs-" + rows))
+                .setCleanDataDirectory(false)
+                .setServerConfig("shared_buffers", "256MB")
+                .setServerConfig("fsync", "off")
+                .setServerConfig("synchronous_commit", "off")
+                .start();
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+        properties.put("spring.datasource.username", "postgres");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "update");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("spring.devtools.restart.enabled", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("server.port", "0");
+        // Measure the engines, not cache hits
+        properties.put("jobportal.search.cache.enabled", "false");
+        properties.putAll(overrides);
+
+        // Passed as command line arguments so they override application.properties
+        String[] args = properties.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        context = new SpringApplicationBuilder(JobPortalApplication.class)
+                .web(web ? WebApplicationType.SERVLET : WebApplicationType.NONE)
+                .run(args);
+
+        JobDataGenerator generator = new JobDataGenerator(context.getBean(JdbcTemplate.class));
+        if (generator.count() != rows) {
+            generator.generate(rows, SEED);
+            context.getBean(JobIndex.class).rebuild();
+        }
+    }
+
+    /**
+     * @return The port of the web server.
+     */
+    int port() {
+        return Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        postgres.close();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.job_portal.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Login storm: many threads log in continuously while a few others search
+ * jobs, over HTTP against the running application with a small Tomcat pool.
+ *
+ * Compare the search latency percentiles (and login throughput, including
+ * fast 503 rejections) with BCrypt on the dedicated hashing executor versus
+ * on the request threads:
+ *
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="LoginStormBenchmark"
+ */
+@State(Scope.Group)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class LoginStormBenchmark {
+
+    private static final int USERS = 16;
+    private static final String PASSWORD = "storm-password";
+
+    @Param({"true", "false"})
+    private boolean dedicatedExecutor;
+
+    @Param({"10"})
+    private int bcryptStrength;
+
+    private JobSearchDataset dataset;
+    private HttpClient client;
+    private String baseUrl;
+    private String searchToken;
+    private final AtomicInteger nextUser = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        dataset = new JobSearchDataset(10_000, Map.of(
+                "jobportal.search.engine", "memory",
+                "jobportal.security.password.hashing.dedicated-executor", String.valueOf(dedicatedExecutor),
+                "jobportal.security.password.bcrypt-strength", String.valueOf(bcryptStrength),
+                "server.tomcat.threads.max", "16",
+                // Every client shares one address here, and only the hashing executor should shed logins
+                "jobportal.rate-limit.enabled", "false",
+                "jobportal.concurrency-limit.enabled", "false"
+        ), true);
+        baseUrl = "http://localhost:" + dataset.port();
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+        for (int i = 0; i < USERS; i++) {
+            post("/api/auth/register", "{\"username\":\"storm" + i + "\",\"password\":\"" + PASSWORD
+                    + "\",\"email\":\"storm" + i + "@example.com\",\"role\":\"JOB_SEEKER\"}");
+        }
+        String body = post("/api/auth/login", credentials(0)).body();
+        searchToken = body.replaceAll(".*\"token\"\\s*:\\s*\"([^\"]+)\".*", "$1");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        dataset.close();
+    }
+
+    /**
+     * @return The HTTP status: 200 for a login, 503 when hashing turned it away.
+     */
+    @Benchmark
+    @Group("storm")
+    @GroupThreads(24)
+    public int login() throws IOException, InterruptedException {
+        return post("/api/auth/login", credentials(nextUser.getAndIncrement() % USERS)).statusCode();
+    }
+
+    @Benchmark
+    @Group("storm")
+    @GroupThreads(2)
+    public int search() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/jobs/search?keyword=java&size=20"))
+                .header("Authorization", "Bearer " + searchToken)
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpResponse<String> post(String path, String json) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String credentials(int user) {
+        return "{\"username\":\"storm" + user + "\",\"password\":\"" + PASSWORD + "\"}";
+    }
+}
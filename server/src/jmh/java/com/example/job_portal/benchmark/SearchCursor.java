@@ -0,0 +1,18 @@
+package com.example.job_portal.benchmark;
+
+import com.example.job_portal.dto.JobSearchDTO;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-thread position in the rotating set of searches.
+ */
+@State(Scope.Thread)
+public class SearchCursor {
+
+    private int next;
+
+    JobSearchDTO next(JobSearchDTO[] searches) {
+        return searches[next++ & (searches.length - 1)];
+    }
+}
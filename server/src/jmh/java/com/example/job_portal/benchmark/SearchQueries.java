@@ -0,0 +1,56 @@
+package com.example.job_portal.benchmark;
+
+import com.example.job_portal.dto.JobSearchDTO;
+import com.example.job_portal.model.JobType;
+
+import java.util.Random;
+
+/**
+ * Filter combinations exercised by the search benchmarks. Each one builds a
+ * rotating set of concrete searches from the generator vocabulary so a run
+ * does not measure the same query over and over.
+ */
+public enum SearchQueries {
+    KEYWORD,
+    LOCATION,
+    SALARY,
+    JOB_TYPE,
+    KEYWORD_LOCATION,
+    KEYWORD_SALARY_JOB_TYPE,
+    ALL;
+
+    private static final int VARIANTS = 64;
+
+    /**
+     * @param sort "field:DIRECTION", e.g. "postedDate:DESC".
+     */
+    public JobSearchDTO[] build(String sort, long seed) {
+        String[] sortParts = sort.split(":");
+        Random random = new Random(seed);
+        JobSearchDTO[] searches = new JobSearchDTO[VARIANTS];
+
+        for (int i = 0; i < VARIANTS; i++) {
+            JobSearchDTO search = new JobSearchDTO();
+            search.setSortBy(sortParts[0]);
+            search.setSortDirection(sortParts[1]);
+            search.setSize(20);
+
+            if (this == KEYWORD || this == KEYWORD_LOCATION || this == KEYWORD_SALARY_JOB_TYPE || this == ALL) {
+                search.setKeyword(JobDataGenerator.pick(random, JobDataGenerator.SKILLS));
+            }
+            if (this == LOCATION || this == KEYWORD_LOCATION || this == ALL) {
+                search.setLocation(JobDataGenerator.pick(random, JobDataGenerator.LOCATIONS).split(",")[0]);
+            }
+            if (this == SALARY || this == KEYWORD_SALARY_JOB_TYPE || this == ALL) {
+                double minSalary = 30_000 + random.nextInt(60) * 1_000;
+                search.setMinSalary(minSalary);
+                search.setMaxSalary(minSalary + 60_000);
+            }
+            if (this == JOB_TYPE || this == KEYWORD_SALARY_JOB_TYPE || this == ALL) {
+                search.setJobType(JobType.valueOf(JobDataGenerator.pick(random, JobDataGenerator.JOB_TYPES)));
+            }
+            searches[i] = search;
+        }
+        return searches;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.job_portal.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform threads versus virtual threads with the connection bulkhead, on
+ * a mixed workload over HTTP: logins, keyword searches and job applications
+ * running side by side against a small connection pool.
+ *
+ * Compare throughput and the latency percentiles per operation. Virtual
+ * threads need Java 21; on older JVMs both modes run on platform threads
+ * and only the bulkhead differs.
+ *
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="ThreadingModeBenchmark"
+ */
+@State(Scope.Group)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class ThreadingModeBenchmark {
+
+    private static final int SEEKERS = 32;
+    private static final String PASSWORD = "mixed-password";
+    private static final String[] KEYWORDS = {"java", "python", "senior engineer", "remote", "data", "devops"};
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private JobSearchDataset dataset;
+    private HttpClient client;
+    private String baseUrl;
+    private final List<String> tokens = new ArrayList<>();
+    private int jobs;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        dataset = new JobSearchDataset(10_000, Map.of(
+                "jobportal.search.engine", "database",
+                "spring.threads.virtual.enabled", String.valueOf(virtualThreads),
+                "jobportal.datasource.bulkhead.enabled", String.valueOf(virtualThreads),
+                "spring.datasource.hikari.maximum-pool-size", "10",
+                "server.tomcat.threads.max", "50",
+                // Compare the threading modes themselves, not the admission control in front of them
+                "jobportal.rate-limit.enabled", "false",
+                "jobportal.concurrency-limit.enabled", "false"
+        ), true);
+        baseUrl = "http://localhost:" + dataset.port();
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        jobs = 10_000;
+
+        for (int i = 0; i < SEEKERS; i++) {
+            // The seekers already exist when the data directory is reused
+            HttpResponse<String> login = post("/api/auth/login", credentials(i), null);
+            if (login.statusCode() != 200) {
+                post("/api/auth/register", "{\"username\":\"mixed" + i + "\",\"password\":\"" + PASSWORD
+                        + "\",\"email\":\"mixed" + i + "@example.com\",\"role\":\"JOB_SEEKER\"}", null);
+                login = post("/api/auth/login", credentials(i), null);
+            }
+            tokens.add(login.body().replaceAll(".*\"token\"\\s*:\\s*\"([^\"]+)\".*", "$1"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        dataset.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public int login() throws IOException, InterruptedException {
+        return post("/api/auth/login", credentials(ThreadLocalRandom.current().nextInt(SEEKERS)), null).statusCode();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(48)
+    public int search() throws IOException, InterruptedException {
+        String keyword = KEYWORDS[ThreadLocalRandom.current().nextInt(KEYWORDS.length)].replace(" ", "%20");
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/jobs/search?keyword=" + keyword + "&size=20"))
+                .header("Authorization", "Bearer " + randomToken())
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * @return 200 for a new application, 400 once the seeker already applied to the job.
+     */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(12)
+    public int apply() throws IOException, InterruptedException {
+        long jobId = 1 + ThreadLocalRandom.current().nextInt(jobs);
+        return post("/api/applications/" + jobId, "", randomToken()).statusCode();
+    }
+
+    private String randomToken() {
+        return tokens.get(ThreadLocalRandom.current().nextInt(tokens.size()));
+    }
+
+    private HttpResponse<String> post(String path, String json, String token) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String credentials(int seeker) {
+        return "{\"username\":\"mixed" + seeker + "\",\"password\":\"" + PASSWORD + "\"}";
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.job_portal.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lets at most a fixed number of callers hold a connection at once and
+ * queues the rest, in arrival order, on a semaphore in front of the pool.
+ *
+ * With virtual threads every request gets its own thread, so thousands of
+ * them can reach the pool at the same time and spin in its hand-off until
+ * the connection timeout. Here they park cheaply instead, and give up with
+ * an {@link SQLTransientConnectionException} after max-wait, well before
+ * the pool's own timeout.
+ *
+ * Waits, rejections and queue length are published as
+ * jobportal.datasource.bulkhead.*.
+ */
+public class ConnectionBulkheadDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private final Semaphore permits;
+    private final int maxConnections;
+    private final long maxWaitNanos;
+
+    private volatile Timer waitTimer;
+    private volatile Counter rejected;
+
+    public ConnectionBulkheadDataSource(DataSource target, int maxConnections, Duration maxWait) {
+        super(target);
+        this.maxConnections = maxConnections;
+        this.permits = new Semaphore(maxConnections, true);
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releaseOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection(@NonNull String username, @NonNull String password) throws SQLException {
+        acquire();
+        try {
+            return releaseOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        waitTimer = Timer.builder("jobportal.datasource.bulkhead.wait")
+                .description("Time spent waiting for a connection permit")
+                .register(registry);
+        rejected = Counter.builder("jobportal.datasource.bulkhead.rejected")
+                .description("Connection requests that gave up waiting for a permit")
+                .register(registry);
+        Gauge.builder("jobportal.datasource.bulkhead.queued", permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a connection permit")
+                .register(registry);
+        Gauge.builder("jobportal.datasource.bulkhead.in-use", permits, p -> maxConnections - p.availablePermits())
+                .description("Connection permits held")
+                .register(registry);
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+
+        Timer timer = waitTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            Counter counter = rejected;
+            if (counter != null) {
+                counter.increment();
+            }
+            throw new SQLTransientConnectionException("No connection available within "
+                    + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + " ms, " + maxConnections + " in use");
+        }
+    }
+
+    // The permit goes back when the connection is closed, once
+    private Connection releaseOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close")) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
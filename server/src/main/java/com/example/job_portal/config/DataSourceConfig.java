@@ -0,0 +1,65 @@
+package com.example.job_portal.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Virtual-thread mode: spring.threads.virtual.enabled runs request handling
+ * on virtual threads (Java 21+), and jobportal.datasource.bulkhead.enabled,
+ * on by default in that mode, puts a {@link ConnectionBulkheadDataSource}
+ * in front of the pool.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    private static final int VIRTUAL_THREADS_FEATURE_VERSION = 21;
+
+    public DataSourceConfig(Environment environment) {
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                && Runtime.version().feature() < VIRTUAL_THREADS_FEATURE_VERSION) {
+            log.warn("spring.threads.virtual.enabled is set, but Java {} has no virtual threads; requests run on platform threads",
+                    Runtime.version().feature());
+        }
+    }
+
+    @Bean
+    public static BeanPostProcessor connectionBulkheadPostProcessor(Environment environment) {
+        boolean enabled = environment.getProperty("jobportal.datasource.bulkhead.enabled", Boolean.class, false);
+        int permits = environment.getProperty("jobportal.datasource.bulkhead.permits", Integer.class, 0);
+        Duration maxWait = environment.getProperty("jobportal.datasource.bulkhead.max-wait", Duration.class, Duration.ofSeconds(5));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (!enabled || !(bean instanceof DataSource dataSource) || bean instanceof ConnectionBulkheadDataSource) {
+                    return bean;
+                }
+                // Default to the pool size, so waiting happens here rather than inside the pool
+                int maxConnections = permits > 0 ? permits
+                        : bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                return new ConnectionBulkheadDataSource(dataSource, maxConnections, maxWait);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionBulkheadMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConnectionBulkheadDataSource bulkhead) {
+                bulkhead.bindTo(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.job_portal.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics beyond what Actuator binds on its own (HTTP endpoints, repository
+ * invocations, HikariCP, Hibernate statistics, caches): services annotated
+ * with {@link io.micrometer.core.annotation.Timed} are timed per method.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -1,11 +1,18 @@
 package com.example.job_portal.controller;
 
 import com.example.job_portal.model.User;
+import com.example.job_portal.security.AuthenticatedUser;
+import com.example.job_portal.security.CurrentUser;
+import com.example.job_portal.security.PasswordHashingRejectedException;
 import com.example.job_portal.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin
@@ -20,15 +27,15 @@ public class AuthController {
      * @return Success message.
      */
     @PostMapping("/register")
-    public ResponseEntity<String> register(@RequestBody User user) {
+    public CompletableFuture<ResponseEntity<String>> register(@RequestBody User user) {
         // Comprehensive email validation using regex
         String emailRegex = "^[A-Za-z0-9+_.-]+@(.+)\\.[A-Za-z]{2,}$";
         if (user.getEmail() == null || !user.getEmail().matches(emailRegex)) {
-            return ResponseEntity.badRequest().body("Invalid email format. Please provide a valid email address");
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body("Invalid email format. Please provide a valid email address"));
         }
         
-        String response = authService.register(user);
-        return ResponseEntity.ok(response);
+        return authService.register(user).thenApply(ResponseEntity::ok);
     }
 
     /**
@@ -37,29 +44,61 @@ public class AuthController {
      * @return JWT token if authentication is successful.
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody User loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody User loginRequest) {
         if (loginRequest.getUsername() == null || loginRequest.getPassword() == null) {
-            return ResponseEntity.badRequest().body("Username and password are required");
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body("Username and password are required"));
         }
 
-        return authService.login(loginRequest)
-                .map(token -> {
+        return authService.login(loginRequest).thenApply(result -> result
+                .<ResponseEntity<?>>map(token -> {
                     // Create a proper JSON response
                     return ResponseEntity.ok()
                             .header("Content-Type", "application/json")
                             .body("{\"token\":\"" + token + "\"}");
                 })
                 .orElseGet(() -> ResponseEntity.status(401)
-                        .body("{\"error\":\"Invalid credentials\"}"));
+                        .body("{\"error\":\"Invalid credentials\"}")));
+    }
+
+    /**
+     * Logs out by revoking the token of the request.
+     * @param authHeader Bearer token the request was authenticated with.
+     * @return Success message.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
+        return authService.logout(authHeader.substring(7));
+    }
+
+    /**
+     * Logs out everywhere by revoking all tokens issued to the current user.
+     * @param currentUser The authenticated caller.
+     * @return Success message.
+     */
+    @PostMapping("/revoke-all")
+    public ResponseEntity<?> revokeAll(@CurrentUser AuthenticatedUser currentUser) {
+        return authService.revokeAllTokens(currentUser);
     }
 
     /**
      * Retrieves details of the currently logged-in user.
-     * @param token Authorization token from request header.
+     * @param currentUser The authenticated caller.
      * @return User details (excluding password).
      */
     @GetMapping("/me")
-    public ResponseEntity<?> getUserDetails(@RequestHeader("Authorization") String token) {
-        return authService.getUserDetails(token);
+    public ResponseEntity<?> getUserDetails(@CurrentUser AuthenticatedUser currentUser) {
+        return authService.getUserDetails(currentUser);
+    }
+
+    /**
+     * Login and registration are turned away rather than queued when the
+     * password hashing executor is saturated.
+     */
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<String> hashingRejected(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("{\"error\":\"" + e.getMessage() + "\"}");
     }
 }
@@ -1,5 +1,9 @@
 package com.example.job_portal.controller;
 
+import com.example.job_portal.dto.ApplicationStatusUpdateDTO;
+import com.example.job_portal.security.AuthenticatedUser;
+import com.example.job_portal.security.CurrentUser;
+import com.example.job_portal.service.IdempotencyCache;
 import com.example.job_portal.service.JobApplicationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -20,28 +24,41 @@ public class JobApplicationController {
     }
 
     @PostMapping("/{jobId}")
-    public ResponseEntity<?> applyForJob(@RequestHeader("Authorization") String token, @PathVariable Long jobId) {
-        return jobApplicationService.applyForJob(token, jobId);
+    public ResponseEntity<?> applyForJob(@CurrentUser AuthenticatedUser currentUser, @PathVariable Long jobId,
+                                         @RequestHeader(value = IdempotencyCache.HEADER, required = false) String idempotencyKey) {
+        return jobApplicationService.applyForJob(currentUser, jobId, idempotencyKey);
     }
 
     @GetMapping
-    public ResponseEntity<?> getUserApplications(@RequestHeader("Authorization") String token) {
-    return jobApplicationService.getUserApplications(token);
+    public ResponseEntity<?> getUserApplications(@CurrentUser AuthenticatedUser currentUser,
+                                                 @RequestParam(required = false) String status,
+                                                 @RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "" + JobApplicationService.DEFAULT_PAGE_SIZE) int size) {
+        return jobApplicationService.getUserApplications(currentUser, status, page, size);
     }
 
     @GetMapping("/job/{jobId}")
-    public ResponseEntity<?> getJobApplications(@RequestHeader("Authorization") String token, @PathVariable Long jobId) {
-        return jobApplicationService.getJobApplications(token, jobId);
+    public ResponseEntity<?> getJobApplications(@CurrentUser AuthenticatedUser currentUser, @PathVariable Long jobId,
+                                                @RequestParam(required = false) String status,
+                                                @RequestParam(defaultValue = "0") int page,
+                                                @RequestParam(defaultValue = "" + JobApplicationService.DEFAULT_PAGE_SIZE) int size) {
+        return jobApplicationService.getJobApplications(currentUser, jobId, status, page, size);
     }
 
     @PutMapping("/{applicationId}/status")
     public ResponseEntity<?> updateApplicationStatus(
-        @RequestHeader("Authorization") String token,
+        @CurrentUser AuthenticatedUser currentUser,
         @PathVariable Long applicationId,
         @RequestBody Map<String, String> request
     ) {
         String newStatus = request.get("status");
-        return jobApplicationService.updateApplicationStatus(token, applicationId, newStatus);
+        return jobApplicationService.updateApplicationStatus(currentUser, applicationId, newStatus);
+    }
+
+    @PutMapping("/status")
+    public ResponseEntity<?> updateApplicationStatuses(@CurrentUser AuthenticatedUser currentUser,
+                                                       @RequestBody ApplicationStatusUpdateDTO request) {
+        return jobApplicationService.updateApplicationStatuses(currentUser, request);
     }
 
 
@@ -1,15 +1,25 @@
 package com.example.job_portal.controller;
 
 import com.example.job_portal.dto.JobSearchDTO;
+import com.example.job_portal.dto.JobSearchResultDTO;
+import com.example.job_portal.dto.SuggestionDTO;
 import com.example.job_portal.model.Job;
+import com.example.job_portal.search.SuggestionIndex;
+import com.example.job_portal.security.AuthenticatedUser;
+import com.example.job_portal.security.CurrentUser;
 import com.example.job_portal.service.JobService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -18,19 +28,92 @@ import java.util.List;
 public class JobController {
 
     private final JobService jobService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public JobController(JobService jobService) {
+    public JobController(JobService jobService, ObjectMapper objectMapper) {
         this.jobService = jobService;
+        // Keep the response stream open between jobs and let the generator's
+        // buffer decide when to flush; the container closes the stream
+        this.objectMapper = objectMapper.copy()
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     /**
-     * Retrieves all job listings.
-     * @return List of all jobs.
+     * Retrieves job listings as a JSON array, streamed row by row.
+     * @param page Optional zero-based page number (used together with limit).
+     * @param limit Optional maximum number of jobs.
+     * @return JSON array of jobs, or 400 for an invalid page or limit.
      */
     @GetMapping
-    public List<Job> getAllJobs() {
-        return jobService.getAllJobs();
+    public ResponseEntity<StreamingResponseBody> getAllJobs(@RequestParam(required = false) Integer page,
+                                                           @RequestParam(required = false) Integer limit) {
+        String invalid = invalidPaging(page, limit);
+        if (invalid != null) {
+            return badRequest(invalid);
+        }
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.writeStartArray();
+            jobService.streamJobs(page, limit, job -> write(generator, job, false));
+            generator.writeEndArray();
+            generator.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Retrieves job listings as newline-delimited JSON (Accept: application/x-ndjson).
+     * @param page Optional zero-based page number (used together with limit).
+     * @param limit Optional maximum number of jobs.
+     * @return One JSON job per line, or 400 for an invalid page or limit.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllJobs(@RequestParam(required = false) Integer page,
+                                                              @RequestParam(required = false) Integer limit) {
+        String invalid = invalidPaging(page, limit);
+        if (invalid != null) {
+            return badRequest(invalid);
+        }
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.setRootValueSeparator(null);
+            jobService.streamJobs(page, limit, job -> write(generator, job, true));
+            generator.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // Checked before streaming starts, as a failure halfway through would leave truncated JSON behind a 200
+    private static String invalidPaging(Integer page, Integer limit) {
+        if (limit != null && limit < 1) {
+            return "limit must be at least 1.";
+        }
+        if (page != null && page < 0) {
+            return "page must not be negative.";
+        }
+        if (page != null && limit == null) {
+            return "page requires a limit.";
+        }
+        return null;
+    }
+
+    // The streaming endpoints are declared with a StreamingResponseBody, so the message is written as one
+    private static ResponseEntity<StreamingResponseBody> badRequest(String message) {
+        return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN)
+                .body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void write(JsonGenerator generator, Job job, boolean newline) {
+        try {
+            objectMapper.writeValue(generator, job);
+            if (newline) {
+                generator.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
@@ -45,51 +128,80 @@ public class JobController {
 
     /**
      * Creates a new job listing (Only for users with RECRUITER role).
-     * @param token Authorization token.
+     * @param currentUser The authenticated caller.
      * @param job Job details.
      * @return Created job or error message.
      */
     @PostMapping
-    public ResponseEntity<?> createJob(@RequestHeader("Authorization") String token, @RequestBody Job job) {
-        // Add these debug lines
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        System.out.println("Current user: " + authentication.getName());
-        System.out.println("Authorities: " + authentication.getAuthorities());
-        System.out.println("Is authenticated: " + authentication.isAuthenticated());
-        
-        return jobService.createJob(token, job);
+    public ResponseEntity<?> createJob(@CurrentUser AuthenticatedUser currentUser, @RequestBody Job job) {
+        return jobService.createJob(currentUser, job);
     }
 
     /**
      * Updates an existing job listing (Only the owner can update).
      * @param id Job ID.
-     * @param token Authorization token.
+     * @param currentUser The authenticated caller.
      * @param jobDetails Updated job details.
      * @return Updated job or error message.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateJob(@PathVariable Long id, @RequestHeader("Authorization") String token, @RequestBody Job jobDetails) {
-        return jobService.updateJob(id, token, jobDetails);
+    public ResponseEntity<?> updateJob(@PathVariable Long id, @CurrentUser AuthenticatedUser currentUser, @RequestBody Job jobDetails) {
+        return jobService.updateJob(id, currentUser, jobDetails);
     }
 
     /**
      * Deletes an existing job listing (Only the owner can delete).
      * @param id Job ID.
-     * @param token Authorization token.
+     * @param currentUser The authenticated caller.
      * @return Success or error message.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<String> deleteJob(@PathVariable Long id, @RequestHeader("Authorization") String token) {
-        return jobService.deleteJob(id, token);
+    public ResponseEntity<String> deleteJob(@PathVariable Long id, @CurrentUser AuthenticatedUser currentUser) {
+        return jobService.deleteJob(id, currentUser);
+    }
+
+    /**
+     * Autocomplete for the job search box.
+     * @param q Text typed so far.
+     * @param field Optional field to complete: TITLE, COMPANY or LOCATION.
+     * @param limit Maximum number of suggestions.
+     * @return Completions ordered by how many jobs carry them.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggest(@RequestParam String q,
+                                                       @RequestParam(required = false) SuggestionIndex.Field field,
+                                                       @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(jobService.suggest(q, field, Math.min(limit, 50)));
     }
 
     /**
      * Search jobs with filters and pagination
-     * @param searchDTO Search parameters
-     * @return Page of jobs matching the search criteria
+     * @param searchDTO Search parameters; pagination=cursor switches to keyset paging,
+     *                  facets=true adds facet counts for up to facetLimit (at most 100) locations
+     * @return Page of jobs matching the search criteria, or a cursor page in cursor mode.
+     *         With facets=true both are wrapped together with the facet counts.
      */
     @GetMapping("/search")
-    public ResponseEntity<Page<Job>> searchJobs(JobSearchDTO searchDTO) {
-        return ResponseEntity.ok(jobService.searchJobs(searchDTO));
+    public ResponseEntity<?> searchJobs(JobSearchDTO searchDTO) {
+        if (searchDTO.isFacets() && searchDTO.getFacetLimit() < 0) {
+            return ResponseEntity.badRequest().body("facetLimit must not be negative.");
+        }
+        searchDTO.setFacetLimit(Math.min(searchDTO.getFacetLimit(), 100));
+
+        Object results;
+        if ("cursor".equalsIgnoreCase(searchDTO.getPagination())) {
+            try {
+                results = jobService.scrollJobs(searchDTO);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        } else {
+            results = jobService.searchJobs(searchDTO);
+        }
+
+        if (searchDTO.isFacets()) {
+            return ResponseEntity.ok(new JobSearchResultDTO(results, jobService.facetJobs(searchDTO)));
+        }
+        return ResponseEntity.ok(results);
     }
 }
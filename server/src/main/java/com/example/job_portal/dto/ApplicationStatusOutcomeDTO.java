@@ -0,0 +1,30 @@
+package com.example.job_portal.dto;
+
+/**
+ * What a status update did to one application.
+ */
+public class ApplicationStatusOutcomeDTO {
+
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED, // already had the requested status
+        NOT_FOUND,
+        FORBIDDEN // belongs to a job the caller did not post
+    }
+
+    private final Long applicationId;
+    private final Outcome outcome;
+
+    public ApplicationStatusOutcomeDTO(Long applicationId, Outcome outcome) {
+        this.applicationId = applicationId;
+        this.outcome = outcome;
+    }
+
+    public Long getApplicationId() {
+        return applicationId;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+}
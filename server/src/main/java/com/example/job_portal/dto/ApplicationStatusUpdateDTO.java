@@ -0,0 +1,31 @@
+package com.example.job_portal.dto;
+
+import java.util.List;
+
+/**
+ * Body of a bulk status update: the applications to change and the status
+ * to give all of them.
+ */
+public class ApplicationStatusUpdateDTO {
+    private List<Long> applicationIds;
+    private String status;
+
+    public ApplicationStatusUpdateDTO() {
+    }
+
+    public List<Long> getApplicationIds() {
+        return applicationIds;
+    }
+
+    public void setApplicationIds(List<Long> applicationIds) {
+        this.applicationIds = applicationIds;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.job_portal.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One of the caller's own applications, read by id columns only.
+ * Keeps the snake_case keys the frontend already expects.
+ */
+public class ApplicationSummaryDTO {
+    private final Long id;
+    private final Long jobId;
+    private final Long applicantId;
+    private final String status;
+
+    public ApplicationSummaryDTO(Long id, Long jobId, Long applicantId, String status) {
+        this.id = id;
+        this.jobId = jobId;
+        this.applicantId = applicantId;
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @JsonProperty("job_id")
+    public Long getJobId() {
+        return jobId;
+    }
+
+    @JsonProperty("applicant_id")
+    public Long getApplicantId() {
+        return applicantId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+}
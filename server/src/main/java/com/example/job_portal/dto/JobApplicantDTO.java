@@ -0,0 +1,29 @@
+package com.example.job_portal.dto;
+
+/**
+ * One application to a recruiter's job: the application id, who applied and
+ * its status.
+ */
+public class JobApplicantDTO {
+    private final Long applicationId;
+    private final String applicantUsername;
+    private final String status;
+
+    public JobApplicantDTO(Long applicationId, String applicantUsername, String status) {
+        this.applicationId = applicationId;
+        this.applicantUsername = applicantUsername;
+        this.status = status;
+    }
+
+    public Long getApplicationId() {
+        return applicationId;
+    }
+
+    public String getApplicantUsername() {
+        return applicantUsername;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.job_portal.dto;
+
+import com.example.job_portal.model.Job;
+
+import java.util.List;
+
+/**
+ * One page of a cursor paginated job search. Unlike Spring's Page it carries
+ * no total count; pass nextCursor back as the cursor parameter to continue.
+ */
+public class JobCursorPageDTO {
+    private final List<Job> content;
+    private final int size;
+    private final boolean hasNext;
+    private final String nextCursor;
+    private final Long estimatedTotal;
+
+    public JobCursorPageDTO(List<Job> content, int size, boolean hasNext, String nextCursor, Long estimatedTotal) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+        this.estimatedTotal = estimatedTotal;
+    }
+
+    public List<Job> getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getNumberOfElements() {
+        return content.size();
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * @return Approximate number of matches, or null unless estimateTotal was requested.
+     */
+    public Long getEstimatedTotal() {
+        return estimatedTotal;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.job_portal.dto;
+
+import java.util.Map;
+
+/**
+ * Facet counts over the open jobs matching a search.
+ */
+public class JobFacetsDTO {
+    private final long total;
+    private final Map<String, Long> jobTypes;
+    private final Map<String, Long> salaryBands;
+    private final Map<String, Long> locations;
+
+    public JobFacetsDTO(long total, Map<String, Long> jobTypes, Map<String, Long> salaryBands, Map<String, Long> locations) {
+        this.total = total;
+        this.jobTypes = jobTypes;
+        this.salaryBands = salaryBands;
+        this.locations = locations;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<String, Long> getJobTypes() {
+        return jobTypes;
+    }
+
+    public Map<String, Long> getSalaryBands() {
+        return salaryBands;
+    }
+
+    /**
+     * @return The most frequent locations, ordered by count.
+     */
+    public Map<String, Long> getLocations() {
+        return locations;
+    }
+}
@@ -12,6 +12,13 @@ public class JobSearchDTO {
     private String sortDirection = "DESC"; // default sort direction
     private int page = 0;
     private int size = 10;
+    private String pagination = "offset"; // "offset" (Page with total) or "cursor" (keyset)
+    private String cursor; // nextCursor of the previous page in cursor mode
+    private boolean estimateTotal = false; // cursor mode only
+    private boolean facets = false; // include facet counts in the response
+    private int facetLimit = 10; // number of locations in the location facet
+    private String near; // place name or "latitude,longitude" to search around
+    private double radiusKm = 25; // radius around "near"
 
     // Default constructor
     public JobSearchDTO() {
@@ -90,6 +97,62 @@ public class JobSearchDTO {
         this.size = size;
     }
 
+    public String getPagination() {
+        return pagination;
+    }
+
+    public void setPagination(String pagination) {
+        this.pagination = pagination;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public boolean isEstimateTotal() {
+        return estimateTotal;
+    }
+
+    public void setEstimateTotal(boolean estimateTotal) {
+        this.estimateTotal = estimateTotal;
+    }
+
+    public boolean isFacets() {
+        return facets;
+    }
+
+    public void setFacets(boolean facets) {
+        this.facets = facets;
+    }
+
+    public int getFacetLimit() {
+        return facetLimit;
+    }
+
+    public void setFacetLimit(int facetLimit) {
+        this.facetLimit = facetLimit;
+    }
+
+    public String getNear() {
+        return near;
+    }
+
+    public void setNear(String near) {
+        this.near = near;
+    }
+
+    public double getRadiusKm() {
+        return radiusKm;
+    }
+
+    public void setRadiusKm(double radiusKm) {
+        this.radiusKm = radiusKm;
+    }
+
     // toString method for debugging
     @Override
     public String toString() {
@@ -103,6 +166,13 @@ public class JobSearchDTO {
                 ", sortDirection='" + sortDirection + '\'' +
                 ", page=" + page +
                 ", size=" + size +
+                ", pagination='" + pagination + '\'' +
+                ", cursor='" + cursor + '\'' +
+                ", estimateTotal=" + estimateTotal +
+                ", facets=" + facets +
+                ", facetLimit=" + facetLimit +
+                ", near='" + near + '\'' +
+                ", radiusKm=" + radiusKm +
                 '}';
     }
 } 
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.example.job_portal.dto;
+
+/**
+ * Search response used when facets are requested: the usual result page
+ * (offset or cursor) together with the facet counts.
+ */
+public class JobSearchResultDTO {
+    private final Object results;
+    private final JobFacetsDTO facets;
+
+    public JobSearchResultDTO(Object results, JobFacetsDTO facets) {
+        this.results = results;
+        this.facets = facets;
+    }
+
+    public Object getResults() {
+        return results;
+    }
+
+    public JobFacetsDTO getFacets() {
+        return facets;
+    }
+}
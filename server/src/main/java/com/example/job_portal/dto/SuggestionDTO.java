@@ -0,0 +1,29 @@
+package com.example.job_portal.dto;
+
+/**
+ * One autocomplete suggestion: the completed text, the job field it comes
+ * from and how many jobs carry it.
+ */
+public class SuggestionDTO {
+    private final String text;
+    private final String field;
+    private final int count;
+
+    public SuggestionDTO(String text, String field, int count) {
+        this.text = text;
+        this.field = field;
+        this.count = count;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
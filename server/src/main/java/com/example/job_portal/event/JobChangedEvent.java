@@ -0,0 +1,67 @@
+package com.example.job_portal.event;
+
+import com.example.job_portal.model.Job;
+
+/**
+ * Published by JobService whenever a job is created, updated or deleted.
+ * Listeners that keep derived state (search indexes, caches) subscribe to it
+ * instead of being called from the service directly.
+ */
+public class JobChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long jobId;
+    private final Job previous;
+    private final Job job;
+
+    private JobChangedEvent(Type type, Long jobId, Job previous, Job job) {
+        this.type = type;
+        this.jobId = jobId;
+        this.previous = previous;
+        this.job = job;
+    }
+
+    public static JobChangedEvent created(Job job) {
+        return new JobChangedEvent(Type.CREATED, job.getId(), null, job);
+    }
+
+    /**
+     * @param previous Snapshot of the job taken before the update was applied.
+     * @param job The updated job.
+     */
+    public static JobChangedEvent updated(Job previous, Job job) {
+        return new JobChangedEvent(Type.UPDATED, job.getId(), previous, job);
+    }
+
+    public static JobChangedEvent deleted(Job previous) {
+        return new JobChangedEvent(Type.DELETED, previous.getId(), previous, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    /**
+     * @return The job's state before the change, or null for CREATED events.
+     */
+    public Job getPrevious() {
+        return previous;
+    }
+
+    /**
+     * @return The job's current state, or null for DELETED events.
+     */
+    public Job getJob() {
+        return job;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.job_portal.event;
+
+/**
+ * Published when a user row is updated or deleted, so caches of user data
+ * (such as resolved principals) can evict it.
+ */
+public class UserChangedEvent {
+
+    private final Long userId;
+    private final String username;
+
+    public UserChangedEvent(Long userId, String username) {
+        this.userId = userId;
+        this.username = username;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.job_portal.geo;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Offline lookup of place names to coordinates, loaded from the bundled
+ * geo/gazetteer.csv. Free-text job locations such as "Berlin, Germany" or
+ * "Remote - London" are resolved by trying the whole text first and then
+ * each comma or dash separated part.
+ */
+@Component
+public class Gazetteer {
+
+    private static final String GAZETTEER = "geo/gazetteer.csv";
+
+    private final Map<String, GeoPoint> places = new HashMap<>();
+
+    public Gazetteer() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(GAZETTEER).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split(",");
+                GeoPoint point = new GeoPoint(Double.parseDouble(columns[2]), Double.parseDouble(columns[3]));
+                places.putIfAbsent(normalize(columns[0]), point);
+                places.putIfAbsent(normalize(columns[0] + ", " + columns[1]), point);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load " + GAZETTEER, e);
+        }
+    }
+
+    /**
+     * @param location A place name, or explicit coordinates as "latitude,longitude".
+     * @return The coordinates, or empty if the location is unknown.
+     */
+    public Optional<GeoPoint> resolve(String location) {
+        if (location == null || location.isBlank()) {
+            return Optional.empty();
+        }
+
+        Optional<GeoPoint> coordinates = parseCoordinates(location);
+        if (coordinates.isPresent()) {
+            return coordinates;
+        }
+
+        String normalized = normalize(location);
+        GeoPoint point = places.get(normalized);
+        if (point != null) {
+            return Optional.of(point);
+        }
+        for (String part : normalized.split("\\s*[,/(]\\s*|\\s+-\\s+")) {
+            point = places.get(part.replace(")", "").trim());
+            if (point != null) {
+                return Optional.of(point);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public int size() {
+        return places.size();
+    }
+
+    private static Optional<GeoPoint> parseCoordinates(String text) {
+        String[] parts = text.split(",");
+        if (parts.length != 2) {
+            return Optional.empty();
+        }
+        try {
+            double latitude = Double.parseDouble(parts[0].trim());
+            double longitude = Double.parseDouble(parts[1].trim());
+            if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+                return Optional.empty();
+            }
+            return Optional.of(new GeoPoint(latitude, longitude));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String normalize(String text) {
+        String withoutAccents = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return withoutAccents.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
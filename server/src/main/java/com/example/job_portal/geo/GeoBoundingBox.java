@@ -0,0 +1,31 @@
+package com.example.job_portal.geo;
+
+/**
+ * Latitude/longitude box around a spherical cap, i.e. all points at most a
+ * radius away from a center. Longitudes are not wrapped: minLongitude may be
+ * below -180 and maxLongitude above 180 when the box crosses the antimeridian.
+ *
+ * @param allLongitudes True when the cap contains a pole, so every longitude is inside.
+ */
+public record GeoBoundingBox(double minLatitude, double maxLatitude,
+                             double minLongitude, double maxLongitude,
+                             boolean allLongitudes) {
+
+    /**
+     * Exact bounding box of the cap; a cap over a pole spans all longitudes.
+     */
+    public static GeoBoundingBox around(GeoPoint center, double radiusKm) {
+        double angularRadius = radiusKm / GeoPoint.EARTH_RADIUS_KM;
+        double latDelta = Math.toDegrees(angularRadius);
+        double minLat = center.latitude() - latDelta;
+        double maxLat = center.latitude() + latDelta;
+        double lonDelta = 180;
+        if (minLat > -90 && maxLat < 90) {
+            lonDelta = Math.toDegrees(Math.asin(Math.min(1,
+                    Math.sin(angularRadius) / Math.cos(Math.toRadians(center.latitude())))));
+        }
+        boolean allLongitudes = lonDelta >= 180 || angularRadius >= Math.PI / 2;
+        return new GeoBoundingBox(Math.max(-90, minLat), Math.min(90, maxLat),
+                center.longitude() - lonDelta, center.longitude() + lonDelta, allLongitudes);
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.job_portal.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds load per route group before it queues up: each group configured
+ * under jobportal.concurrency-limit.groups has a {@link GradientLimit} on
+ * the requests it may run at once, and requests beyond it are answered 503
+ * with Retry-After straight away. An overloaded search therefore cannot
+ * take every Tomcat thread and pool connection from the other endpoints;
+ * requests outside all groups (such as GET /api/jobs/{id}) are not limited.
+ *
+ * Runs ahead of the security chain, so shed requests cost no token
+ * verification or user lookup. Async requests hold their slot until they
+ * complete. The limit, in-flight count and rejections of each group are
+ * published as jobportal.concurrency.limit, jobportal.concurrency.inflight
+ * and jobportal.concurrency.rejected, tagged by group.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final List<LimitedGroup> groups = new ArrayList<>();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = properties.isEnabled();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        for (Map.Entry<String, ConcurrencyLimitProperties.Group> entry : properties.getGroups().entrySet()) {
+            groups.add(LimitedGroup.of(entry.getKey(), entry.getValue(), properties, registry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        LimitedGroup group = enabled ? match(request) : null;
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!group.limit().tryAcquire()) {
+            group.rejected().increment();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.getWriter().write("Server is busy, retry shortly");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(group.limit(), start));
+            } else {
+                group.limit().release(System.nanoTime() - start, !failed);
+            }
+        }
+    }
+
+    private LimitedGroup match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (LimitedGroup group : groups) {
+            if (group.matches(request.getMethod(), path)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private record LimitedGroup(String name, List<PathPattern> paths, List<String> methods,
+                                GradientLimit limit, Counter rejected) {
+
+        static LimitedGroup of(String name, ConcurrencyLimitProperties.Group group,
+                               ConcurrencyLimitProperties properties, MeterRegistry registry) {
+            List<PathPattern> paths = group.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+            List<String> methods = group.getMethods().stream().map(method -> method.toUpperCase(Locale.ROOT)).toList();
+            GradientLimit limit = new GradientLimit(group.getInitialLimit(), group.getMinLimit(), group.getMaxLimit(),
+                    properties.getRttTolerance(), properties.getSmoothing(), properties.getWindow().toNanos(),
+                    properties.getMinWindowSamples());
+
+            Gauge.builder("jobportal.concurrency.limit", limit, GradientLimit::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("group", name)
+                    .register(registry);
+            Gauge.builder("jobportal.concurrency.inflight", limit, GradientLimit::getInflight)
+                    .description("Requests currently running")
+                    .tag("group", name)
+                    .register(registry);
+            Counter rejected = Counter.builder("jobportal.concurrency.rejected")
+                    .description("Requests shed by the concurrency limiter")
+                    .tag("group", name)
+                    .register(registry);
+            return new LimitedGroup(name, paths, methods, limit, rejected);
+        }
+
+        boolean matches(String method, PathContainer path) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            for (PathPattern pattern : paths) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class ReleaseOnCompletion implements AsyncListener {
+
+        private final GradientLimit limit;
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnCompletion(GradientLimit limit, long start) {
+            this.limit = limit;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(false);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(false);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void release(boolean sample) {
+            if (released.compareAndSet(false, true)) {
+                limit.release(System.nanoTime() - start, sample);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.job_portal.limit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adaptive concurrency limits per route group, bound from
+ * jobportal.concurrency-limit.*. Groups are matched in declaration order;
+ * requests matching no group are not limited.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "jobportal.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    // Window latency may rise this much above the lowest window latency seen (the no-load baseline)
+    // before the limit shrinks
+    private double rttTolerance = 1.5;
+
+    // Weight of each new limit estimate, 0-1
+    private double smoothing = 0.2;
+
+    // The limit is recomputed once per window that saw at least min-window-samples requests
+    private Duration window = Duration.ofMillis(250);
+    private int minWindowSamples = 10;
+
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Group {
+
+        // Path patterns, e.g. /api/jobs/search or /api/jobs/**
+        private List<String> paths = new ArrayList<>();
+
+        // HTTP methods the group covers, all if empty
+        private List<String> methods = new ArrayList<>();
+
+        private int initialLimit = 20;
+        private int minLimit = 2;
+        private int maxLimit = 200;
+    }
+}
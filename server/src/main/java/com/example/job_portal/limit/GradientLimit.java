@@ -0,0 +1,149 @@
+package com.example.job_portal.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to latency, after the gradient algorithm of
+ * Netflix's concurrency-limits.
+ *
+ * Request latencies are averaged per time window and compared with the
+ * lowest window average seen, the latency without queueing. While latency
+ * stays within the tolerance of that baseline the limit grows by about its
+ * square root each window; once queueing makes latency rise, the limit
+ * shrinks in proportion (by at most half per window). The limit only grows
+ * while it is actually being used.
+ *
+ * A baseline taken while the service was always queueing would let the
+ * limit creep up, and one from a faster past would hold it down. So shortly
+ * after startup and then every probe interval the limit is cut to a quarter
+ * for one window, which drains the queue, and that window's latency becomes
+ * the new baseline; the limit is then restored and adapts from there.
+ *
+ * Admission and release are a CAS and a few adder updates; the limit is
+ * recomputed once per window by whichever request closes it.
+ */
+class GradientLimit {
+
+    // Windows between re-measurements of the baseline latency, and before the first one
+    private static final int PROBE_INTERVAL = 240;
+    private static final int FIRST_PROBE = 4;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final int minWindowSamples;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger peakInflight = new AtomicInteger();
+    private volatile int limit;
+
+    private final LongAdder windowRttSum = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicLong windowEnd;
+
+    // Only touched in update()
+    private double estimatedLimit;
+    private double noLoadRtt;
+    private int windowsSinceProbe = PROBE_INTERVAL - FIRST_PROBE;
+    private boolean probing;
+    private double limitBeforeProbe;
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, double rttTolerance, double smoothing,
+                  long windowNanos, int minWindowSamples) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = windowNanos;
+        this.minWindowSamples = minWindowSamples;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+        this.windowEnd = new AtomicLong(System.nanoTime() + windowNanos);
+    }
+
+    /**
+     * @return Whether the request may run; it must then be {@link #release released}.
+     */
+    boolean tryAcquire() {
+        int current;
+        do {
+            current = inflight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inflight.compareAndSet(current, current + 1));
+        peakInflight.accumulateAndGet(current + 1, Math::max);
+        return true;
+    }
+
+    /**
+     * @param rttNanos How long the request ran.
+     * @param sample Whether its latency is representative (false for failed requests).
+     */
+    void release(long rttNanos, boolean sample) {
+        inflight.decrementAndGet();
+        if (sample) {
+            windowRttSum.add(rttNanos);
+            windowSamples.increment();
+        }
+
+        long now = System.nanoTime();
+        long end = windowEnd.get();
+        if (now - end >= 0 && windowSamples.sum() >= minWindowSamples && windowEnd.compareAndSet(end, now + windowNanos)) {
+            long samples = windowSamples.sumThenReset();
+            long rttSum = windowRttSum.sumThenReset();
+            int peak = peakInflight.getAndSet(inflight.get());
+            if (samples > 0) {
+                update((double) rttSum / samples, peak);
+            }
+        }
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    int getInflight() {
+        return inflight.get();
+    }
+
+    private synchronized void update(double windowRtt, int peak) {
+        if (probing) {
+            probing = false;
+            noLoadRtt = windowRtt;
+            setLimit(limitBeforeProbe);
+            return;
+        }
+
+        noLoadRtt = noLoadRtt == 0 ? windowRtt : Math.min(noLoadRtt, windowRtt);
+
+        if (++windowsSinceProbe >= PROBE_INTERVAL) {
+            windowsSinceProbe = 0;
+            probing = true;
+            limitBeforeProbe = estimatedLimit;
+            limit = Math.max(minLimit, (int) (estimatedLimit / 4));
+            return;
+        }
+
+        // Not using the limit, so latency says nothing about whether it could grow
+        if (peak < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * noLoadRtt / windowRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        setLimit(estimatedLimit * (1 - smoothing) + newLimit * smoothing);
+    }
+
+    private void setLimit(double newLimit) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
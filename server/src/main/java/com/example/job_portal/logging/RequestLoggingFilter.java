@@ -0,0 +1,130 @@
+package com.example.job_portal.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Gives every request a correlation id and logs one structured event per
+ * request when it completes.
+ *
+ * The id is taken from the X-Request-Id header when the client sends a
+ * well-formed one, generated otherwise, and echoed in the response. It is
+ * put in the MDC as correlationId for every log line of the request, along
+ * with userId once the JWT filter has authenticated the caller. Requests
+ * finishing on an async dispatch keep both.
+ *
+ * Events are sampled: server errors and requests slower than the threshold
+ * are always logged, other requests at the configured rate.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    public static final String CORRELATION_ID_HEADER = "X-Request-Id";
+    public static final String CORRELATION_ID_KEY = "correlationId";
+    public static final String USER_ID_KEY = "userId";
+
+    private static final Logger log = LoggerFactory.getLogger(RequestLoggingFilter.class);
+
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final String START_ATTRIBUTE = RequestLoggingFilter.class.getName() + ".start";
+    private static final String CORRELATION_ID_ATTRIBUTE = RequestLoggingFilter.class.getName() + ".correlationId";
+    private static final String USER_ID_ATTRIBUTE = RequestLoggingFilter.class.getName() + ".userId";
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public RequestLoggingFilter(@Value("${jobportal.logging.requests.enabled:true}") boolean enabled,
+                                @Value("${jobportal.logging.requests.sample-rate:0.01}") double sampleRate,
+                                @Value("${jobportal.logging.requests.slow-threshold:1s}") Duration slowThreshold) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // Async requests complete, and are logged, on their last dispatch
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            putIfPresent(CORRELATION_ID_KEY, (String) request.getAttribute(CORRELATION_ID_ATTRIBUTE));
+            putIfPresent(USER_ID_KEY, (String) request.getAttribute(USER_ID_ATTRIBUTE));
+        } else {
+            String correlationId = correlationId(request.getHeader(CORRELATION_ID_HEADER));
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+            request.setAttribute(CORRELATION_ID_ATTRIBUTE, correlationId);
+            response.setHeader(CORRELATION_ID_HEADER, correlationId);
+            MDC.put(CORRELATION_ID_KEY, correlationId);
+        }
+
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.setAttribute(USER_ID_ATTRIBUTE, MDC.get(USER_ID_KEY));
+            } else if (enabled) {
+                logRequest(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus());
+            }
+            MDC.remove(CORRELATION_ID_KEY);
+            MDC.remove(USER_ID_KEY);
+        }
+    }
+
+    private void logRequest(HttpServletRequest request, int status) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        long durationNanos = start == null ? 0 : System.nanoTime() - (Long) start;
+        boolean serverError = status >= 500;
+        boolean slow = durationNanos >= slowThresholdNanos;
+        if (!serverError && !slow && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        LoggingEventBuilder event = serverError || slow ? log.atWarn() : log.atInfo();
+        event.addKeyValue("method", request.getMethod())
+                .addKeyValue("path", request.getRequestURI())
+                .addKeyValue("status", status)
+                .addKeyValue("durationMs", durationMs)
+                .addKeyValue("sampled", !serverError && !slow)
+                .log("{} {} -> {} in {} ms", request.getMethod(), request.getRequestURI(), status, durationMs);
+    }
+
+    private static String correlationId(String header) {
+        if (header != null && VALID_ID.matcher(header).matches()) {
+            return header;
+        }
+        return String.format("%016x", ThreadLocalRandom.current().nextLong());
+    }
+
+    private static void putIfPresent(String key, String value) {
+        if (value != null) {
+            MDC.put(key, value);
+        }
+    }
+}
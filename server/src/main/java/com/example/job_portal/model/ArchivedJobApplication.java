@@ -0,0 +1,37 @@
+package com.example.job_portal.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * An application to a deleted job, moved out of job_applications by
+ * ApplicationArchiver. Keeps the original id and references by id only, as
+ * the archive outlives the rows it came from.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "job_applications_archive", indexes = {
+        @Index(name = "idx_job_applications_archive_job", columnList = "job_id"),
+        @Index(name = "idx_job_applications_archive_applicant", columnList = "applicant_id")
+})
+public class ArchivedJobApplication {
+
+    @Id
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "applicant_id", nullable = false)
+    private Long applicantId;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
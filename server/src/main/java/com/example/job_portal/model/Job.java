@@ -3,11 +3,15 @@ package com.example.job_portal.model;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.SQLRestriction;
+
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "jobs")
+@Table(name = "jobs", indexes = @Index(name = "idx_jobs_coordinates", columnList = "latitude, longitude"))
+@SQLRestriction("deleted_at IS NULL") // Deleted jobs stay until their applications are archived
 @JsonIgnoreProperties({"recruiter", "applications"}) // Prevents recursive JSON issues
 public class Job {
 
@@ -30,6 +34,12 @@ public class Job {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String requirements;
 
+    @Column(name = "latitude")
+    private Double latitude; // Resolved from location, null if unknown
+
+    @Column(name = "longitude")
+    private Double longitude;
+
     @Column(name = "min_salary", precision = 12, scale = 2)
     private BigDecimal minSalary; // Matches PostgreSQL's numeric(12,2)
 
@@ -51,6 +61,15 @@ public class Job {
     @JoinColumn(name = "recruiter_id", nullable = false) // Foreign key mapping
     private User recruiter;
 
+    // Set by JobRepository.softDelete only, never read through the entity
+    @Column(name = "deleted_at")
+    private Instant deletedAt;
+
+    // Set by ApplicationCounters on listings; replaced, never mutated, as cached jobs are shared
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private volatile JobApplicationCounter applicationCounts;
+
     // Default Constructor
     public Job() {}
 
@@ -70,6 +89,25 @@ public class Job {
         this.recruiter = recruiter;
     }
 
+    // Copy Constructor (detached snapshot, shares the recruiter reference)
+    public Job(Job other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.company = other.company;
+        this.location = other.location;
+        this.latitude = other.latitude;
+        this.longitude = other.longitude;
+        this.description = other.description;
+        this.requirements = other.requirements;
+        this.minSalary = other.minSalary;
+        this.maxSalary = other.maxSalary;
+        this.jobType = other.jobType;
+        this.status = other.status;
+        this.postedDate = other.postedDate;
+        this.recruiter = other.recruiter;
+        this.applicationCounts = other.applicationCounts;
+    }
+
     // Getters & Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -83,6 +121,12 @@ public class Job {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
 
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
 
@@ -107,6 +151,9 @@ public class Job {
     public User getRecruiter() { return recruiter; }
     public void setRecruiter(User recruiter) { this.recruiter = recruiter; }
 
+    public JobApplicationCounter getApplicationCounts() { return applicationCounts; }
+    public void setApplicationCounts(JobApplicationCounter applicationCounts) { this.applicationCounts = applicationCounts; }
+
     // Add these methods for JSON serialization/deserialization
     @JsonProperty("type")
     public String getJobTypeString() {
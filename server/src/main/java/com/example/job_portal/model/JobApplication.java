@@ -7,7 +7,10 @@ import lombok.Setter;
 @Entity
 @Getter
 @Setter
-@Table(name = "job_applications")
+@Table(name = "job_applications",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_job_applications_applicant_job", columnNames = {"applicant_id", "job_id"}),
+        indexes = @Index(name = "idx_job_applications_job", columnList = "job_id, id"))
 public class JobApplication {
     
     @Id
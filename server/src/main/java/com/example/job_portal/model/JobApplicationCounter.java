@@ -0,0 +1,57 @@
+package com.example.job_portal.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of applications to a job, in total and per status. Rows are only
+ * ever changed by adding deltas (see ApplicationCounters), never recounted,
+ * so instances are treated as immutable values.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "job_application_counters")
+public class JobApplicationCounter {
+
+    @Id
+    @JsonIgnore
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Column(nullable = false)
+    private long pending;
+
+    @Column(nullable = false)
+    private long accepted;
+
+    @Column(nullable = false)
+    private long rejected;
+
+    public JobApplicationCounter(Long jobId, long total, long pending, long accepted, long rejected) {
+        this.jobId = jobId;
+        this.total = total;
+        this.pending = pending;
+        this.accepted = accepted;
+        this.rejected = rejected;
+    }
+
+    public static JobApplicationCounter zero(Long jobId) {
+        return new JobApplicationCounter(jobId, 0, 0, 0, 0);
+    }
+
+    public JobApplicationCounter plus(JobApplicationCounter other) {
+        return new JobApplicationCounter(jobId, total + other.total, pending + other.pending,
+                accepted + other.accepted, rejected + other.rejected);
+    }
+
+    @JsonIgnore
+    public boolean isZero() {
+        return total == 0 && pending == 0 && accepted == 0 && rejected == 0;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.job_portal.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A revoked token ("jti:" + token id), or all tokens of a user issued up to
+ * revokedAt ("user:" + user id). Rows are deleted once expiresAt has passed,
+ * as every token they could match has expired by then.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"))
+public class RevokedToken {
+
+    @Id
+    @Column(name = "revocation_key", length = 64)
+    private String key;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public RevokedToken(String key, Long userId, Instant revokedAt, Instant expiresAt) {
+        this.key = key;
+        this.userId = userId;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+}
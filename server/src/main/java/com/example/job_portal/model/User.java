@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserChangeListener.class) // Publishes UserChangedEvent on update/delete
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,14 @@
+package com.example.job_portal.repository;
+
+/**
+ * An application's id with the recruiter who owns its job, as read by
+ * {@link JobApplicationRepository#findOwnershipByIdIn}.
+ */
+public interface ApplicationOwnership {
+
+    Long getId();
+
+    Long getRecruiterId();
+
+    String getStatus();
+}
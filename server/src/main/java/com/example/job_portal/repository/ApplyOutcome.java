@@ -0,0 +1,12 @@
+package com.example.job_portal.repository;
+
+/**
+ * Result of {@link JobApplicationRepository#applyIfAbsent}.
+ */
+public interface ApplyOutcome {
+
+    boolean getJobExists();
+
+    // false if the job does not exist or the applicant already applied
+    boolean getInserted();
+}
@@ -0,0 +1,17 @@
+package com.example.job_portal.repository;
+
+import com.example.job_portal.model.JobApplicationCounter;
+
+import java.util.List;
+
+/**
+ * Batched writes of counter deltas, implemented with plain JDBC.
+ */
+public interface JobApplicationCounterDeltas {
+
+    /**
+     * Adds each delta to its job's counters, creating the row on first use,
+     * in one JDBC batch. Deltas for deleted jobs are dropped.
+     */
+    void addDeltas(List<JobApplicationCounter> deltas);
+}
@@ -0,0 +1,42 @@
+package com.example.job_portal.repository;
+
+import com.example.job_portal.model.JobApplicationCounter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+class JobApplicationCounterDeltasImpl implements JobApplicationCounterDeltas {
+
+    private static final String ADD_DELTA = """
+            INSERT INTO job_application_counters (job_id, total, pending, accepted, rejected)
+            SELECT id, ?, ?, ?, ? FROM jobs WHERE id = ? AND deleted_at IS NULL
+            ON CONFLICT (job_id) DO UPDATE SET
+                total = job_application_counters.total + EXCLUDED.total,
+                pending = job_application_counters.pending + EXCLUDED.pending,
+                accepted = job_application_counters.accepted + EXCLUDED.accepted,
+                rejected = job_application_counters.rejected + EXCLUDED.rejected
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    JobApplicationCounterDeltasImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void addDeltas(List<JobApplicationCounter> deltas) {
+        // Sorted by job so concurrent flushes from several instances lock rows in the same order
+        List<JobApplicationCounter> sorted = deltas.stream()
+                .sorted((a, b) -> Long.compare(a.getJobId(), b.getJobId()))
+                .toList();
+        jdbcTemplate.batchUpdate(ADD_DELTA, sorted, sorted.size(), (ps, delta) -> {
+            ps.setLong(1, delta.getTotal());
+            ps.setLong(2, delta.getPending());
+            ps.setLong(3, delta.getAccepted());
+            ps.setLong(4, delta.getRejected());
+            ps.setLong(5, delta.getJobId());
+        });
+    }
+}
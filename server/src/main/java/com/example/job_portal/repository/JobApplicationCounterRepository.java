@@ -0,0 +1,16 @@
+package com.example.job_portal.repository;
+
+import com.example.job_portal.model.JobApplicationCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobApplicationCounterRepository extends JpaRepository<JobApplicationCounter, Long>, JobApplicationCounterDeltas {
+
+    @Modifying
+    @Query("DELETE FROM JobApplicationCounter c WHERE c.jobId = :jobId")
+    void deleteByJobId(@Param("jobId") Long jobId);
+}
@@ -1,18 +1,138 @@
 package com.example.job_portal.repository;
 
+import com.example.job_portal.dto.ApplicationSummaryDTO;
+import com.example.job_portal.dto.JobApplicantDTO;
 import com.example.job_portal.model.JobApplication;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
-import com.example.job_portal.model.User;
-import com.example.job_portal.model.Job;
-import java.util.Optional;
 
 
 @Repository
 public interface JobApplicationRepository extends JpaRepository<JobApplication, Long> {
-    List<JobApplication> findByApplicant(User applicant);
-    List<JobApplication> findByJob(Job job);
-    Optional<JobApplication> findByApplicantAndJob(User applicant, Job job);
-    void deleteByJob(Job job);
+    /**
+     * Applies for the job in one statement, by ids only. The unique
+     * (applicant_id, job_id) constraint makes concurrent applies by the same
+     * applicant insert at most one row.
+     */
+    @Transactional
+    @Query(value = """
+            WITH job AS (
+                SELECT id FROM jobs WHERE id = :jobId AND deleted_at IS NULL
+            ), inserted AS (
+                INSERT INTO job_applications (job_id, applicant_id, status)
+                SELECT id, :applicantId, 'PENDING' FROM job
+                ON CONFLICT (applicant_id, job_id) DO NOTHING
+                RETURNING id
+            )
+            SELECT EXISTS (SELECT 1 FROM job) AS "jobExists", EXISTS (SELECT 1 FROM inserted) AS "inserted"
+            """, nativeQuery = true)
+    ApplyOutcome applyIfAbsent(@Param("applicantId") Long applicantId, @Param("jobId") Long jobId);
+
+    /**
+     * @return Whether the unique (applicant_id, job_id) constraint that
+     *         applyIfAbsent relies on exists (see V6__unique_job_application.sql).
+     */
+    @Query(value = """
+            SELECT EXISTS (
+                SELECT 1 FROM pg_constraint
+                WHERE conname = 'uk_job_applications_applicant_job'
+                AND conrelid = 'job_applications'::regclass
+            )
+            """, nativeQuery = true)
+    boolean hasApplicantJobConstraint();
+
+    /**
+     * The applicant's applications, newest first. Reads the id columns of
+     * job_applications only, without loading the job or either user.
+     * A null status matches every status; the match ignores case.
+     */
+    @Query("""
+            SELECT new com.example.job_portal.dto.ApplicationSummaryDTO(a.id, j.id, a.applicant.id, a.status)
+            FROM JobApplication a JOIN a.job j
+            WHERE a.applicant.id = :applicantId
+            AND (CAST(:status AS String) IS NULL OR UPPER(a.status) = UPPER(CAST(:status AS String)))
+            ORDER BY a.id DESC
+            """)
+    Slice<ApplicationSummaryDTO> findSummariesByApplicantId(@Param("applicantId") Long applicantId,
+                                                            @Param("status") String status,
+                                                            Pageable pageable);
+
+    /**
+     * Applications to the job in the order they came in, joined with the
+     * applicant's username only.
+     * A null status matches every status; the match ignores case.
+     */
+    @Query("""
+            SELECT new com.example.job_portal.dto.JobApplicantDTO(a.id, u.username, a.status)
+            FROM JobApplication a JOIN a.applicant u
+            WHERE a.job.id = :jobId
+            AND (CAST(:status AS String) IS NULL OR UPPER(a.status) = UPPER(CAST(:status AS String)))
+            ORDER BY a.id
+            """)
+    Slice<JobApplicantDTO> findApplicantsByJobId(@Param("jobId") Long jobId,
+                                                 @Param("status") String status,
+                                                 Pageable pageable);
+
+    @Query("""
+            SELECT a.id AS id, j.recruiter.id AS recruiterId, a.status AS status
+            FROM JobApplication a JOIN a.job j
+            WHERE a.id IN :ids
+            """)
+    List<ApplicationOwnership> findOwnershipByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Sets the status of those of the applications that belong to the
+     * recruiter's jobs and do not have it yet, in one statement. Ownership is
+     * checked again here, so a job changing hands in between is never missed.
+     * The rows are locked before they are read, so each previous status is the
+     * one this statement replaced.
+     *
+     * @return The applications that changed, with their previous status.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE job_applications a SET status = :status
+            FROM (SELECT id, status FROM job_applications WHERE id IN (:ids) FOR UPDATE) previous, jobs j
+            WHERE a.id = previous.id AND j.id = a.job_id AND j.recruiter_id = :recruiterId AND j.deleted_at IS NULL
+            AND a.status <> :status
+            RETURNING a.id AS "id", a.job_id AS "jobId", previous.status AS "previousStatus"
+            """, nativeQuery = true)
+    List<StatusChange> updateStatusForRecruiter(@Param("recruiterId") Long recruiterId,
+                                                @Param("ids") Collection<Long> ids,
+                                                @Param("status") String status);
+
+    /**
+     * Moves up to chunkSize applications of deleted jobs to
+     * job_applications_archive, in one statement and transaction. Rows locked
+     * by a concurrent run are skipped, so several instances can archive at once.
+     *
+     * @return The number of applications moved; fewer than chunkSize once none are left.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM job_applications
+                WHERE id IN (
+                    SELECT a.id FROM job_applications a JOIN jobs j ON j.id = a.job_id
+                    WHERE j.deleted_at IS NOT NULL
+                    ORDER BY a.id
+                    LIMIT :chunkSize
+                    FOR UPDATE OF a SKIP LOCKED
+                )
+                RETURNING id, job_id, applicant_id, status
+            )
+            INSERT INTO job_applications_archive (id, job_id, applicant_id, status, archived_at)
+            SELECT id, job_id, applicant_id, status, now() FROM moved
+            ON CONFLICT (id) DO NOTHING
+            """, nativeQuery = true)
+    int archiveApplicationsOfDeletedJobs(@Param("chunkSize") int chunkSize);
 }
@@ -5,21 +5,26 @@ import com.example.job_portal.model.JobType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface JobRepository extends JpaRepository<Job, Long> {
+public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job> {
     
     @Query(value = """
             SELECT j FROM Job j 
             WHERE (:keyword IS NULL OR 
-                   LOWER(j.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR 
-                   LOWER(j.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR 
-                   LOWER(j.requirements) LIKE LOWER(CONCAT('%', :keyword, '%')))
-            AND (:location IS NULL OR LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%')))
+                   LOWER(j.title) LIKE LOWER(CONCAT('%', CAST(:keyword AS String), '%')) OR 
+                   LOWER(j.description) LIKE LOWER(CONCAT('%', CAST(:keyword AS String), '%')) OR 
+                   LOWER(j.requirements) LIKE LOWER(CONCAT('%', CAST(:keyword AS String), '%')))
+            AND (:location IS NULL OR LOWER(j.location) LIKE LOWER(CONCAT('%', CAST(:location AS String), '%')))
             AND (:jobType IS NULL OR j.jobType = :jobType)
             AND (:minSalary IS NULL OR j.minSalary >= :minSalary)
             AND (:maxSalary IS NULL OR j.maxSalary <= :maxSalary)
@@ -32,4 +37,79 @@ public interface JobRepository extends JpaRepository<Job, Long> {
             @Param("maxSalary") BigDecimal maxSalary,
             Pageable pageable
     );
+
+    /**
+     * Full-text variant of searchJobs backed by the GIN indexed search_vector
+     * column (see V3__add_jobs_search_vector.sql). Results are ordered by
+     * ts_rank plus a recency bonus that drops to half after recencyDays days.
+     */
+    @Query(value = """
+            SELECT j.* FROM jobs j
+            WHERE j.search_vector @@ websearch_to_tsquery('english', :keyword)
+            AND j.deleted_at IS NULL
+            AND (CAST(:location AS text) IS NULL OR LOWER(j.location) LIKE LOWER(CONCAT('%', CAST(:location AS text), '%')))
+            AND (CAST(:jobType AS text) IS NULL OR j.type = CAST(:jobType AS text))
+            AND (CAST(:minSalary AS numeric) IS NULL OR j.min_salary >= CAST(:minSalary AS numeric))
+            AND (CAST(:maxSalary AS numeric) IS NULL OR j.max_salary <= CAST(:maxSalary AS numeric))
+            ORDER BY ts_rank(j.search_vector, websearch_to_tsquery('english', :keyword))
+                     + :recencyWeight / (1 + EXTRACT(EPOCH FROM (now() - j.posted_date)) / 86400.0 / :recencyDays) DESC,
+                     j.id DESC
+            """,
+            countQuery = """
+            SELECT COUNT(*) FROM jobs j
+            WHERE j.search_vector @@ websearch_to_tsquery('english', :keyword)
+            AND j.deleted_at IS NULL
+            AND (CAST(:location AS text) IS NULL OR LOWER(j.location) LIKE LOWER(CONCAT('%', CAST(:location AS text), '%')))
+            AND (CAST(:jobType AS text) IS NULL OR j.type = CAST(:jobType AS text))
+            AND (CAST(:minSalary AS numeric) IS NULL OR j.min_salary >= CAST(:minSalary AS numeric))
+            AND (CAST(:maxSalary AS numeric) IS NULL OR j.max_salary <= CAST(:maxSalary AS numeric))
+            """,
+            nativeQuery = true)
+    Page<Job> searchJobsFullText(
+            @Param("keyword") String keyword,
+            @Param("location") String location,
+            @Param("jobType") String jobType,
+            @Param("minSalary") BigDecimal minSalary,
+            @Param("maxSalary") BigDecimal maxSalary,
+            @Param("recencyWeight") double recencyWeight,
+            @Param("recencyDays") double recencyDays,
+            Pageable pageable
+    );
+
+    @Query("SELECT j.id AS id, j.title AS title, j.company AS company, j.location AS location FROM Job j")
+    List<JobSuggestionSource> findSuggestionSources();
+
+    /**
+     * Marks the job deleted. From then on it is invisible to every query, and
+     * ApplicationArchiver moves its applications to the archive in the background.
+     *
+     * @return 1 if the job was deleted by this call, 0 if it was already deleted.
+     */
+    @Modifying
+    @Query(value = "UPDATE jobs SET deleted_at = now() WHERE id = :jobId AND deleted_at IS NULL", nativeQuery = true)
+    int softDelete(@Param("jobId") Long jobId);
+
+    // Jobs saved before coordinates were stored, in id order for CoordinateBackfill
+    List<Job> findTop500ByIdGreaterThanAndLatitudeIsNullOrderByIdAsc(Long id);
+
+    /**
+     * Stores the coordinates of a job's location if the job has none. Only the
+     * two columns are written, so an edit made since the job was read is kept.
+     *
+     * @return 1 if the coordinates were stored, 0 if the job has coordinates
+     *         already, was deleted or has moved to another location.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE Job j SET j.latitude = :latitude, j.longitude = :longitude
+            WHERE j.id = :id AND j.location = :location
+            AND j.latitude IS NULL AND j.deletedAt IS NULL
+            """)
+    int setCoordinatesIfMissing(@Param("id") Long id, @Param("location") String location,
+                                @Param("latitude") double latitude, @Param("longitude") double longitude);
+
+    // Ownership checks need only the recruiter id, not the job and its recruiter
+    @Query("SELECT j.recruiter.id FROM Job j WHERE j.id = :jobId")
+    Optional<Long> findRecruiterIdById(@Param("jobId") Long jobId);
 }
@@ -0,0 +1,159 @@
+package com.example.job_portal.repository;
+
+import com.example.job_portal.dto.JobSearchDTO;
+import com.example.job_portal.geo.GeoBoundingBox;
+import com.example.job_portal.geo.GeoPoint;
+import com.example.job_portal.model.Job;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Criteria equivalents of the filters in JobRepository.searchJobs, for
+ * queries that cannot be expressed with the fixed JPQL (e.g. keyset scrolling).
+ */
+public final class JobSpecifications {
+
+    private JobSpecifications() {
+    }
+
+    public static Specification<Job> matching(JobSearchDTO searchDTO) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (searchDTO.getKeyword() != null) {
+                String pattern = "%" + searchDTO.getKeyword().toLowerCase() + "%";
+                predicates.add(cb.or(
+                    cb.like(cb.lower(root.get("title")), pattern),
+                    cb.like(cb.lower(root.get("description")), pattern),
+                    cb.like(cb.lower(root.get("requirements")), pattern)
+                ));
+            }
+            if (searchDTO.getLocation() != null) {
+                predicates.add(cb.like(cb.lower(root.get("location")), "%" + searchDTO.getLocation().toLowerCase() + "%"));
+            }
+            if (searchDTO.getJobType() != null) {
+                predicates.add(cb.equal(root.get("jobType"), searchDTO.getJobType()));
+            }
+            if (searchDTO.getMinSalary() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("minSalary"), BigDecimal.valueOf(searchDTO.getMinSalary())));
+            }
+            if (searchDTO.getMaxSalary() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("maxSalary"), BigDecimal.valueOf(searchDTO.getMaxSalary())));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Restricts to jobs whose stored coordinates are at most radiusKm from the
+     * center. The bounding box of the circle is a plain range condition on
+     * the coordinate columns; the exact great-circle check only runs on the
+     * rows inside it. Jobs without coordinates never match.
+     */
+    public static Specification<Job> within(GeoPoint center, double radiusKm) {
+        return (root, query, cb) -> {
+            GeoBoundingBox box = GeoBoundingBox.around(center, radiusKm);
+            Path<Double> latitude = root.get("latitude");
+            Path<Double> longitude = root.get("longitude");
+
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.between(latitude, box.minLatitude(), box.maxLatitude()));
+            if (!box.allLongitudes()) {
+                if (box.minLongitude() < -180) {
+                    predicates.add(cb.or(cb.ge(longitude, box.minLongitude() + 360), cb.le(longitude, box.maxLongitude())));
+                } else if (box.maxLongitude() > 180) {
+                    predicates.add(cb.or(cb.ge(longitude, box.minLongitude()), cb.le(longitude, box.maxLongitude() - 360)));
+                } else {
+                    predicates.add(cb.between(longitude, box.minLongitude(), box.maxLongitude()));
+                }
+            }
+
+            // Haversine without the asin: hav(d / R) <= hav(radius / R), i.e. compare a to sin²(radius / 2R)
+            double angularRadius = radiusKm / GeoPoint.EARTH_RADIUS_KM;
+            if (angularRadius < Math.PI) {
+                Expression<Double> sinHalfDLat = sin(cb, cb.prod(cb.diff(latitude, center.latitude()), Math.PI / 360));
+                Expression<Double> sinHalfDLon = sin(cb, cb.prod(cb.diff(longitude, center.longitude()), Math.PI / 360));
+                Expression<Double> cosLatitude = cb.function("cos", Double.class, cb.prod(latitude, Math.PI / 180));
+                Expression<Double> a = cb.sum(
+                        cb.prod(sinHalfDLat, sinHalfDLat),
+                        cb.prod(cb.prod(cosLatitude, Math.cos(Math.toRadians(center.latitude()))),
+                                cb.prod(sinHalfDLon, sinHalfDLon)));
+                double limit = Math.sin(angularRadius / 2);
+                predicates.add(cb.le(a, limit * limit));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Orders by sortBy, then id, both in the given direction, with jobs
+     * without a sort value last. Set here because Spring Data cannot pass
+     * the null precedence of a Sort on to Criteria queries; use it with an
+     * unsorted query.
+     */
+    public static Specification<Job> keysetOrder(String sortBy, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+            boolean ascending = direction.isAscending();
+            Path<Long> id = root.get("id");
+            Order idOrder = ascending ? cb.asc(id) : cb.desc(id);
+            if (sortBy.equals("id")) {
+                query.orderBy(idOrder);
+            } else {
+                Path<?> path = root.get(sortBy);
+                query.orderBy(ascending ? hcb.asc(path, false) : hcb.desc(path, false), idOrder);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Keyset condition for the jobs after (value, id) in the {@link #keysetOrder}.
+     * @param value Sort value of the last job seen, or null if it had none.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static Specification<Job> after(String sortBy, Sort.Direction direction, Object value, long id) {
+        return (root, query, cb) -> {
+            boolean ascending = direction.isAscending();
+            Path<Long> idPath = root.get("id");
+            Predicate idAfter = ascending ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+            if (sortBy.equals("id")) {
+                return idAfter;
+            }
+
+            Path<Comparable> path = root.get(sortBy);
+            if (value == null) {
+                return cb.and(cb.isNull(path), idAfter);
+            }
+            Comparable key = (Comparable) value;
+            return cb.or(
+                    ascending ? cb.greaterThan(path, key) : cb.lessThan(path, key),
+                    cb.and(cb.equal(path, key), idAfter),
+                    cb.isNull(path));
+        };
+    }
+
+    /**
+     * {@link #within} the resolved center; a place that could not be resolved matches nothing.
+     */
+    public static Specification<Job> near(Optional<GeoPoint> center, double radiusKm) {
+        return center.map(point -> within(point, radiusKm))
+                .orElseGet(() -> (root, query, cb) -> cb.disjunction());
+    }
+
+    private static Expression<Double> sin(CriteriaBuilder cb, Expression<Double> radians) {
+        return cb.function("sin", Double.class, radians);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.job_portal.repository;
+
+import com.example.job_portal.model.Job;
+import com.example.job_portal.model.JobApplicationCounter;
+import com.example.job_portal.model.JobStatus;
+import com.example.job_portal.model.JobType;
+import com.example.job_portal.model.User;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.function.Consumer;
+
+/**
+ * Reads jobs through a forward-only JDBC cursor instead of materializing the
+ * whole table. PostgreSQL only honours the fetch size inside a transaction,
+ * so every read runs in a read-only one.
+ */
+// Not a Spring Data repository, so not covered by spring.data.repository.invocations
+@Repository
+@Timed(value = "jobportal.repository.jdbc", description = "JDBC repository method latency")
+public class JobStreamRepository {
+
+    private static final String SELECT_JOBS = """
+            SELECT j.id, j.title, j.company, j.location, j.description, j.requirements, j.latitude, j.longitude,
+                   j.min_salary, j.max_salary, j.type, j.status, j.posted_date, j.recruiter_id,
+                   c.total, c.pending, c.accepted, c.rejected
+            FROM jobs j
+            LEFT JOIN job_application_counters c ON c.job_id = j.id
+            WHERE j.deleted_at IS NULL
+            ORDER BY j.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JobStreamRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               @Value("${jobportal.jobs.stream.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Passes jobs ordered by id to the consumer one row at a time.
+     * @param offset Number of jobs to skip, not negative.
+     * @param limit Maximum number of jobs, positive, or null for all of them.
+     * @param consumer Receives each job; it should not keep references.
+     */
+    public void streamJobs(long offset, Integer limit, Consumer<Job> consumer) {
+        RowCallbackHandler handler = rs -> consumer.accept(mapJob(rs));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (limit != null) {
+                jdbcTemplate.query(SELECT_JOBS + " OFFSET ? LIMIT ?", handler, offset, limit);
+            } else {
+                jdbcTemplate.query(SELECT_JOBS + " OFFSET ?", handler, offset);
+            }
+        });
+    }
+
+    private static Job mapJob(ResultSet rs) throws SQLException {
+        Job job = new Job();
+        job.setId(rs.getLong("id"));
+        job.setTitle(rs.getString("title"));
+        job.setCompany(rs.getString("company"));
+        job.setLocation(rs.getString("location"));
+        job.setDescription(rs.getString("description"));
+        job.setRequirements(rs.getString("requirements"));
+        // getDouble would turn a missing coordinate into 0
+        job.setLatitude(rs.getObject("latitude", Double.class));
+        job.setLongitude(rs.getObject("longitude", Double.class));
+        job.setMinSalary(rs.getBigDecimal("min_salary"));
+        job.setMaxSalary(rs.getBigDecimal("max_salary"));
+        job.setJobType(JobType.valueOf(rs.getString("type")));
+        job.setStatus(JobStatus.valueOf(rs.getString("status")));
+        Timestamp postedDate = rs.getTimestamp("posted_date");
+        job.setPostedDate(postedDate != null ? postedDate.toLocalDateTime() : null);
+
+        // Only the id is serialized (as recruiter_id), so avoid loading the user
+        User recruiter = new User();
+        recruiter.setId(rs.getLong("recruiter_id"));
+        job.setRecruiter(recruiter);
+
+        // Stored counts only (zero without a row); the service adds the unflushed ones
+        job.setApplicationCounts(new JobApplicationCounter(job.getId(), rs.getLong("total"), rs.getLong("pending"),
+                rs.getLong("accepted"), rs.getLong("rejected")));
+        return job;
+    }
+}
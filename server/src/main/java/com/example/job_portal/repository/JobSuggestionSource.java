@@ -0,0 +1,11 @@
+package com.example.job_portal.repository;
+
+/**
+ * Projection of the job columns that feed autocomplete suggestions.
+ */
+public interface JobSuggestionSource {
+    Long getId();
+    String getTitle();
+    String getCompany();
+    String getLocation();
+}
@@ -0,0 +1,13 @@
+package com.example.job_portal.repository;
+
+/**
+ * An application whose status {@link JobApplicationRepository#updateStatusForRecruiter} changed.
+ */
+public interface StatusChange {
+
+    Long getId();
+
+    Long getJobId();
+
+    String getPreviousStatus();
+}
@@ -0,0 +1,39 @@
+package com.example.job_portal.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the changes that arrive while an in-memory index reads its snapshot
+ * of the jobs table. A change committed after the read started may be
+ * missing from the snapshot, so the index applies the held changes once it
+ * is built; applying one the snapshot already has is harmless.
+ */
+final class ChangeBuffer<T> {
+
+    private List<T> held; // null while no snapshot is being read
+
+    synchronized void start() {
+        held = new ArrayList<>();
+    }
+
+    /**
+     * @return true if the change was held, false if the caller should apply it now.
+     */
+    synchronized boolean offer(T change) {
+        if (held == null) {
+            return false;
+        }
+        held.add(change);
+        return true;
+    }
+
+    /**
+     * @return The held changes in arrival order; changes are applied directly from now on.
+     */
+    synchronized List<T> finish() {
+        List<T> changes = held != null ? held : List.of();
+        held = null;
+        return changes;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.job_portal.search;
+
+import com.example.job_portal.dto.JobFacetsDTO;
+import com.example.job_portal.dto.JobSearchDTO;
+import com.example.job_portal.geo.Gazetteer;
+import com.example.job_portal.model.Job;
+import com.example.job_portal.repository.JobRepository;
+import com.example.job_portal.repository.JobSpecifications;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Answers searches with the LIKE based JPQL query in JobRepository.
+ * Radius searches apply all filters, the radius included, with the
+ * equivalent Criteria query over the stored job coordinates. Counts and
+ * facets use the same Criteria filters.
+ */
+@Component
+@ConditionalOnProperty(name = "jobportal.search.engine", havingValue = "database", matchIfMissing = true)
+public class DatabaseJobSearchEngine implements JobSearchEngine {
+
+    private final JobRepository jobRepository;
+    private final Gazetteer gazetteer;
+    private final SqlJobFacets sqlJobFacets;
+
+    public DatabaseJobSearchEngine(JobRepository jobRepository, Gazetteer gazetteer, SqlJobFacets sqlJobFacets) {
+        this.jobRepository = jobRepository;
+        this.gazetteer = gazetteer;
+        this.sqlJobFacets = sqlJobFacets;
+    }
+
+    @Override
+    public Page<Job> search(JobSearchDTO searchDTO) {
+        // Create Pageable object for pagination and sorting
+        Sort sort = Sort.by(
+            searchDTO.getSortDirection().equalsIgnoreCase("ASC") ?
+            Sort.Direction.ASC : Sort.Direction.DESC,
+            searchDTO.getSortBy()
+        );
+
+        Pageable pageable = PageRequest.of(
+            searchDTO.getPage(),
+            searchDTO.getSize(),
+            sort
+        );
+
+        if (searchDTO.getNear() != null) {
+            return jobRepository.findAll(matching(searchDTO), pageable);
+        }
+
+        // Convert salary values to BigDecimal if present
+        BigDecimal minSalary = searchDTO.getMinSalary() != null ?
+            BigDecimal.valueOf(searchDTO.getMinSalary()) : null;
+        BigDecimal maxSalary = searchDTO.getMaxSalary() != null ?
+            BigDecimal.valueOf(searchDTO.getMaxSalary()) : null;
+
+        // Perform the search
+        return jobRepository.searchJobs(
+            searchDTO.getKeyword(),
+            searchDTO.getLocation(),
+            searchDTO.getJobType(),
+            minSalary,
+            maxSalary,
+            pageable
+        );
+    }
+
+    @Override
+    public long count(JobSearchDTO searchDTO) {
+        return jobRepository.count(matching(searchDTO));
+    }
+
+    @Override
+    public JobFacetsDTO facets(JobSearchDTO searchDTO, int locationLimit) {
+        return sqlJobFacets.facets(matching(searchDTO), locationLimit);
+    }
+
+    private Specification<Job> matching(JobSearchDTO searchDTO) {
+        Specification<Job> spec = JobSpecifications.matching(searchDTO);
+        if (searchDTO.getNear() != null) {
+            spec = spec.and(JobSpecifications.near(gazetteer.resolve(searchDTO.getNear()), searchDTO.getRadiusKm()));
+        }
+        return spec;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.job_portal.search;
+
+import com.example.job_portal.geo.GeoBoundingBox;
+import com.example.job_portal.geo.GeoPoint;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fixed-size latitude/longitude grid over job ordinals. A radius query only
+ * visits the cells overlapping the circle's bounding box and then checks the
+ * exact distance of the jobs inside them.
+ *
+ * Not thread-safe; {@link JobIndex} guards it with its own lock.
+ */
+class GeoGrid {
+
+    private final double cellDegrees;
+    private final int lonCells;
+    private final Map<Long, BitSet> cells = new HashMap<>();
+    private double[] latitudes = new double[16];
+    private double[] longitudes = new double[16];
+    private final BitSet located = new BitSet();
+
+    GeoGrid(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+        this.lonCells = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    void add(int ordinal, GeoPoint point) {
+        if (ordinal >= latitudes.length) {
+            int capacity = Math.max(ordinal + 1, latitudes.length * 2);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+        }
+        latitudes[ordinal] = point.latitude();
+        longitudes[ordinal] = point.longitude();
+        located.set(ordinal);
+        cells.computeIfAbsent(cellKey(latCell(point.latitude()), lonCell(point.longitude())), k -> new BitSet()).set(ordinal);
+    }
+
+    void remove(int ordinal) {
+        if (!located.get(ordinal)) {
+            return;
+        }
+        long key = cellKey(latCell(latitudes[ordinal]), lonCell(longitudes[ordinal]));
+        BitSet cell = cells.get(key);
+        if (cell != null) {
+            cell.clear(ordinal);
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+        located.clear(ordinal);
+    }
+
+    void clear() {
+        cells.clear();
+        located.clear();
+    }
+
+    /**
+     * @return Ordinals of the jobs at most radiusKm away from the center.
+     */
+    BitSet within(GeoPoint center, double radiusKm) {
+        BitSet result = new BitSet();
+        GeoBoundingBox box = GeoBoundingBox.around(center, radiusKm);
+
+        int fromLat = latCell(box.minLatitude());
+        int toLat = latCell(box.maxLatitude());
+
+        int fromLon;
+        int lonSpan;
+        if (box.allLongitudes()) {
+            fromLon = 0;
+            lonSpan = lonCells;
+        } else {
+            fromLon = lonCell(box.minLongitude());
+            lonSpan = Math.floorMod(lonCell(box.maxLongitude()) - fromLon, lonCells) + 1;
+        }
+
+        for (int lat = fromLat; lat <= toLat; lat++) {
+            for (int i = 0; i < lonSpan; i++) {
+                BitSet cell = cells.get(cellKey(lat, Math.floorMod(fromLon + i, lonCells)));
+                if (cell == null) {
+                    continue;
+                }
+                for (int ordinal = cell.nextSetBit(0); ordinal >= 0; ordinal = cell.nextSetBit(ordinal + 1)) {
+                    if (center.distanceKm(latitudes[ordinal], longitudes[ordinal]) <= radiusKm) {
+                        result.set(ordinal);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private int latCell(double latitude) {
+        return (int) Math.floor((latitude + 90) / cellDegrees);
+    }
+
+    private int lonCell(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), lonCells);
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xffffffffL);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.job_portal.search;
+
+import com.example.job_portal.dto.JobFacetsDTO;
+import com.example.job_portal.dto.JobSearchDTO;
+import com.example.job_portal.model.Job;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * Answers searches from the {@link JobIndex} without touching the database.
+ * Only the requested page is ordered: a bounded heap keeps the best
+ * (page + 1) * size matches instead of sorting the whole result.
+ *
+ * Keywords match by word prefix rather than by substring, and also match
+ * the company, so a few searches differ from the database engine's (see
+ * InMemoryJobSearchEngineTests). Opt in with jobportal.search.engine=memory.
+ */
+@Component
+@ConditionalOnProperty(name = "jobportal.search.engine", havingValue = "memory")
+public class InMemoryJobSearchEngine implements JobSearchEngine {
+
+    private final JobIndex jobIndex;
+
+    public InMemoryJobSearchEngine(JobIndex jobIndex) {
+        this.jobIndex = jobIndex;
+    }
+
+    // Loaded up front so the first search does not wait for it
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        jobIndex.load();
+    }
+
+    @Override
+    public Page<Job> search(JobSearchDTO searchDTO) {
+        boolean ascending = searchDTO.getSortDirection().equalsIgnoreCase("ASC");
+        Sort sort = Sort.by(ascending ? Sort.Direction.ASC : Sort.Direction.DESC, searchDTO.getSortBy());
+        PageRequest pageable = PageRequest.of(searchDTO.getPage(), searchDTO.getSize(), sort);
+
+        BitSet matches = jobIndex.match(searchDTO);
+        int total = matches.cardinality();
+
+        long offset = pageable.getOffset();
+        if (offset >= total) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        Comparator<Job> order = comparator(searchDTO.getSortBy(), ascending);
+        int limit = (int) Math.min(total, offset + pageable.getPageSize());
+
+        // Max-heap on the requested order, so the worst candidate is evicted first
+        PriorityQueue<Job> best = new PriorityQueue<>(limit + 1, order.reversed());
+        for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+            Job job = jobIndex.document(ordinal);
+            if (job == null) {
+                continue;
+            }
+            best.offer(job);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Job> ordered = new ArrayList<>(best);
+        ordered.sort(order);
+        List<Job> content = offset < ordered.size()
+                ? ordered.subList((int) offset, ordered.size())
+                : List.of();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public long count(JobSearchDTO searchDTO) {
+        return jobIndex.match(searchDTO).cardinality();
+    }
+
+    @Override
+    public JobFacetsDTO facets(JobSearchDTO searchDTO, int locationLimit) {
+        return jobIndex.facets(jobIndex.match(searchDTO), locationLimit);
+    }
+
+    /**
+     * Builds the ordering for a JobSearchDTO.sortBy value. Nulls sort last and
+     * the job id breaks ties so pages are stable.
+     */
+    static Comparator<Job> comparator(String sortBy, boolean ascending) {
+        Comparator<Job> field = switch (sortBy) {
+            case "title" -> by(Job::getTitle, ascending);
+            case "company" -> by(Job::getCompany, ascending);
+            case "location" -> by(Job::getLocation, ascending);
+            case "minSalary" -> by(Job::getMinSalary, ascending);
+            case "maxSalary" -> by(Job::getMaxSalary, ascending);
+            case "jobType" -> by(Job::getJobType, ascending);
+            case "status" -> by(Job::getStatus, ascending);
+            case "id" -> by(Job::getId, ascending);
+            case "postedDate" -> by(Job::getPostedDate, ascending);
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + sortBy);
+        };
+        return field.thenComparing(by(Job::getId, ascending));
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<Job> by(Function<Job, T> key, boolean ascending) {
+        Comparator<T> natural = ascending ? Comparator.naturalOrder() : Comparator.reverseOrder();
+        return Comparator.comparing(key, Comparator.nullsLast(natural));
+    }
+}
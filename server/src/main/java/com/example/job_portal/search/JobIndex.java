@@ -0,0 +1,436 @@
+package com.example.job_portal.search;
+
+import com.example.job_portal.dto.JobFacetsDTO;
+import com.example.job_portal.dto.JobSearchDTO;
+import com.example.job_portal.event.JobChangedEvent;
+import com.example.job_portal.geo.Gazetteer;
+import com.example.job_portal.geo.GeoPoint;
+import com.example.job_portal.model.Job;
+import com.example.job_portal.model.JobStatus;
+import com.example.job_portal.model.JobType;
+import com.example.job_portal.repository.JobRepository;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over all jobs.
+ *
+ * Every job gets a dense ordinal; posting lists are bitsets over those
+ * ordinals so AND/OR evaluation is a word-wise bitset operation. Terms come
+ * from title, description, requirements and company, with location indexed
+ * separately so the location filter does not match on job text.
+ *
+ * Facet values (job type, salary band, open status) have their own bitsets so
+ * facet counts are intersections with the search result. Job coordinates
+ * are kept in a {@link GeoGrid} for radius searches.
+ *
+ * The index is loaded on first use (the in-memory search engine loads it
+ * once the application is ready) and kept current through
+ * {@link JobChangedEvent}s published by JobService. Changes before loading
+ * starts are ignored, as loading reads them from the jobs table; changes
+ * while it reads are applied once the index is built.
+ */
+@Component
+public class JobIndex {
+
+    // Any case: keywords reach the index lower-cased by JobSearchCache.normalize
+    private static final String OR_OPERATOR = "(?i)\\s+OR\\s+";
+    private static final double GRID_CELL_DEGREES = 1.0;
+
+    private final JobRepository jobRepository;
+    private final Gazetteer gazetteer;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Job> documents = new ArrayList<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final NavigableMap<String, BitSet> terms = new TreeMap<>();
+    private final NavigableMap<String, BitSet> locationTerms = new TreeMap<>();
+    private final Map<JobType, BitSet> jobTypes = new EnumMap<>(JobType.class);
+    private final Map<SalaryBand, BitSet> salaryBands = new EnumMap<>(SalaryBand.class);
+    private final BitSet open = new BitSet();
+    private final SalaryIndex salaryIndex = new SalaryIndex();
+    private final GeoGrid geoGrid = new GeoGrid(GRID_CELL_DEGREES);
+    private final ChangeBuffer<JobChangedEvent> changesDuringLoad = new ChangeBuffer<>();
+    private volatile boolean loaded;
+
+    public JobIndex(JobRepository jobRepository, Gazetteer gazetteer) {
+        this.jobRepository = jobRepository;
+        this.gazetteer = gazetteer;
+    }
+
+    /**
+     * Loads the index from the jobs table unless it is loaded already.
+     */
+    public void load() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the whole index from the jobs table.
+     */
+    public synchronized void rebuild() {
+        changesDuringLoad.start();
+        List<Job> jobs;
+        try {
+            jobs = jobRepository.findAll();
+        } catch (RuntimeException e) {
+            changesDuringLoad.finish();
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            ordinals.clear();
+            live.clear();
+            terms.clear();
+            locationTerms.clear();
+            jobTypes.clear();
+            salaryBands.clear();
+            open.clear();
+            salaryIndex.clear();
+            geoGrid.clear();
+            for (Job job : jobs) {
+                add(job);
+            }
+            // Sorted once for all jobs rather than inserted job by job
+            salaryIndex.build(jobs.stream().map(Job::getMinSalary).toList(),
+                    jobs.stream().map(Job::getMaxSalary).toList());
+            loaded = true;
+            changesDuringLoad.finish().forEach(this::apply);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Before JobSearchCache invalidates, so pages cached afterwards are read from the updated index
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        if (!changesDuringLoad.offer(event)) {
+            apply(event);
+        }
+    }
+
+    private void apply(JobChangedEvent event) {
+        if (event.getType() == JobChangedEvent.Type.DELETED) {
+            remove(event.getJobId());
+        } else {
+            index(event.getJob());
+        }
+    }
+
+    /**
+     * Adds a job to the index, replacing any previous version with the same id.
+     */
+    public void index(Job job) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            Integer ordinal = ordinals.get(job.getId());
+            if (ordinal != null) {
+                unindex(ordinal);
+                documents.set(ordinal, job);
+                live.set(ordinal);
+                postings(job, ordinal);
+            } else {
+                ordinal = add(job);
+            }
+            salaryIndex.add(ordinal, job.getMinSalary(), job.getMaxSalary());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long jobId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            Integer ordinal = ordinals.remove(jobId);
+            if (ordinal != null) {
+                unindex(ordinal);
+                documents.set(ordinal, null);
+                live.clear(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Evaluates every filter of the search against the index.
+     * @param searchDTO Search parameters; paging and sorting are ignored.
+     * @return A new bitset of the ordinals of all matching jobs.
+     */
+    public BitSet match(JobSearchDTO searchDTO) {
+        load();
+        lock.readLock().lock();
+        try {
+            BitSet result = (BitSet) live.clone();
+
+            if (searchDTO.getKeyword() != null) {
+                result.and(matchQuery(terms, searchDTO.getKeyword()));
+            }
+            if (searchDTO.getLocation() != null) {
+                result.and(matchQuery(locationTerms, searchDTO.getLocation()));
+            }
+            if (searchDTO.getJobType() != null) {
+                result.and(jobTypes.getOrDefault(searchDTO.getJobType(), new BitSet()));
+            }
+            if (searchDTO.getMinSalary() != null) {
+                result.and(salaryIndex.minSalaryAtLeast(searchDTO.getMinSalary()));
+            }
+            if (searchDTO.getMaxSalary() != null) {
+                result.and(salaryIndex.maxSalaryAtMost(searchDTO.getMaxSalary()));
+            }
+            if (searchDTO.getNear() != null) {
+                result.and(near(searchDTO.getNear(), searchDTO.getRadiusKm()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the open jobs among the matches per job type, salary band and location.
+     * @param matches Ordinals returned by {@link #match(JobSearchDTO)}.
+     * @param locationLimit Number of locations to report, most frequent first.
+     */
+    public JobFacetsDTO facets(BitSet matches, int locationLimit) {
+        lock.readLock().lock();
+        try {
+            BitSet openMatches = (BitSet) matches.clone();
+            openMatches.and(open);
+
+            Map<String, Long> typeCounts = new LinkedHashMap<>();
+            for (JobType type : JobType.values()) {
+                typeCounts.put(type.name(), intersectionCount(openMatches, jobTypes.get(type)));
+            }
+
+            Map<String, Long> bandCounts = new LinkedHashMap<>();
+            for (SalaryBand band : SalaryBand.values()) {
+                bandCounts.put(band.name(), intersectionCount(openMatches, salaryBands.get(band)));
+            }
+
+            // Locations are free text with many distinct values, so they are
+            // counted in a single pass over the matches rather than per value
+            Map<String, Long> locationCounts = new HashMap<>();
+            Map<String, String> displayNames = new HashMap<>();
+            for (int ordinal = openMatches.nextSetBit(0); ordinal >= 0; ordinal = openMatches.nextSetBit(ordinal + 1)) {
+                String location = documents.get(ordinal).getLocation();
+                if (location == null || location.isBlank()) {
+                    continue;
+                }
+                String key = location.trim().toLowerCase(Locale.ROOT);
+                locationCounts.merge(key, 1L, Long::sum);
+                displayNames.putIfAbsent(key, location.trim());
+            }
+
+            Map<String, Long> topLocations = new LinkedHashMap<>();
+            locationCounts.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .limit(locationLimit)
+                    .forEach(e -> topLocations.put(displayNames.get(e.getKey()), e.getValue()));
+
+            return new JobFacetsDTO(openMatches.cardinality(), typeCounts, bandCounts, topLocations);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The job stored at the given ordinal, or null if it was removed.
+     */
+    public Job document(int ordinal) {
+        lock.readLock().lock();
+        try {
+            return ordinal < documents.size() ? documents.get(ordinal) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        load();
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Salaries are left to the caller: rebuild builds them in bulk, index adds them one at a time
+    private int add(Job job) {
+        int ordinal = documents.size();
+        documents.add(job);
+        ordinals.put(job.getId(), ordinal);
+        live.set(ordinal);
+        postings(job, ordinal);
+        return ordinal;
+    }
+
+    private void postings(Job job, int ordinal) {
+        for (String term : textTerms(job)) {
+            terms.computeIfAbsent(term, t -> new BitSet()).set(ordinal);
+        }
+        for (String term : Tokenizer.tokenize(job.getLocation())) {
+            locationTerms.computeIfAbsent(term, t -> new BitSet()).set(ordinal);
+        }
+        if (job.getJobType() != null) {
+            jobTypes.computeIfAbsent(job.getJobType(), t -> new BitSet()).set(ordinal);
+        }
+        SalaryBand band = SalaryBand.of(job.getMinSalary());
+        if (band != null) {
+            salaryBands.computeIfAbsent(band, b -> new BitSet()).set(ordinal);
+        }
+        if (job.getStatus() == JobStatus.OPEN) {
+            open.set(ordinal);
+        }
+        coordinates(job).ifPresent(point -> geoGrid.add(ordinal, point));
+    }
+
+    private void unindex(int ordinal) {
+        Job previous = documents.get(ordinal);
+        if (previous == null) {
+            return;
+        }
+        for (String term : textTerms(previous)) {
+            clear(terms, term, ordinal);
+        }
+        for (String term : Tokenizer.tokenize(previous.getLocation())) {
+            clear(locationTerms, term, ordinal);
+        }
+        if (previous.getJobType() != null) {
+            jobTypes.getOrDefault(previous.getJobType(), new BitSet()).clear(ordinal);
+        }
+        SalaryBand band = SalaryBand.of(previous.getMinSalary());
+        if (band != null) {
+            salaryBands.getOrDefault(band, new BitSet()).clear(ordinal);
+        }
+        open.clear(ordinal);
+        salaryIndex.remove(ordinal, previous.getMinSalary(), previous.getMaxSalary());
+        geoGrid.remove(ordinal);
+    }
+
+    private BitSet near(String near, double radiusKm) {
+        BitSet result = gazetteer.resolve(near)
+                .map(center -> geoGrid.within(center, radiusKm))
+                .orElseGet(BitSet::new);
+        result.and(live);
+        return result;
+    }
+
+    /**
+     * Jobs saved before coordinates were stored are resolved from their
+     * location text here, so they take part in radius searches as well.
+     */
+    private Optional<GeoPoint> coordinates(Job job) {
+        if (job.getLatitude() != null && job.getLongitude() != null) {
+            return Optional.of(new GeoPoint(job.getLatitude(), job.getLongitude()));
+        }
+        return gazetteer.resolve(job.getLocation());
+    }
+
+    private static long intersectionCount(BitSet a, BitSet b) {
+        if (b == null) {
+            return 0;
+        }
+        BitSet intersection = (BitSet) a.clone();
+        intersection.and(b);
+        return intersection.cardinality();
+    }
+
+    private static void clear(Map<String, BitSet> postings, String term, int ordinal) {
+        BitSet bits = postings.get(term);
+        if (bits != null) {
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static Set<String> textTerms(Job job) {
+        Set<String> result = new LinkedHashSet<>();
+        result.addAll(Tokenizer.tokenize(job.getTitle()));
+        result.addAll(Tokenizer.tokenize(job.getDescription()));
+        result.addAll(Tokenizer.tokenize(job.getRequirements()));
+        result.addAll(Tokenizer.tokenize(job.getCompany()));
+        return result;
+    }
+
+    /**
+     * Clauses separated by OR (in any case, as in websearch_to_tsquery) are
+     * unioned; the terms inside a clause are intersected. Each term also
+     * matches indexed terms it is a prefix of, so "dev" finds "developer"
+     * the way the LIKE query did.
+     */
+    private BitSet matchQuery(NavigableMap<String, BitSet> postings, String query) {
+        BitSet result = new BitSet();
+        boolean anyClause = false;
+
+        for (String clause : query.trim().split(OR_OPERATOR)) {
+            List<String> clauseTerms = Tokenizer.tokenize(clause);
+            if (clauseTerms.isEmpty()) {
+                continue;
+            }
+            anyClause = true;
+
+            BitSet clauseBits = null;
+            for (String term : clauseTerms) {
+                BitSet termBits = matchPrefix(postings, term);
+                if (clauseBits == null) {
+                    clauseBits = termBits;
+                } else {
+                    clauseBits.and(termBits);
+                }
+                if (clauseBits.isEmpty()) {
+                    break;
+                }
+            }
+            result.or(clauseBits);
+        }
+
+        // A query without any terms does not restrict the result
+        return anyClause ? result : (BitSet) live.clone();
+    }
+
+    private static BitSet matchPrefix(NavigableMap<String, BitSet> postings, String prefix) {
+        BitSet result = new BitSet();
+        for (BitSet bits : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+            result.or(bits);
+        }
+        return result;
+    }
+}
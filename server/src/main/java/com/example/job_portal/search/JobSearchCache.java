@@ -0,0 +1,180 @@
+package com.example.job_portal.search;
+
+import com.example.job_portal.dto.JobSearchDTO;
+import com.example.job_portal.event.JobChangedEvent;
+import com.example.job_portal.model.Job;
+import com.example.job_portal.model.JobType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-evicting cache of offset search pages keyed by the normalized
+ * search. Writes invalidate only the entries whose filters the changed job
+ * could match, before or after the change. Text filters are checked
+ * leniently (a term's first three characters) so the check stays
+ * conservative for the prefix and stemming semantics of every engine.
+ *
+ * Hit, miss and eviction counts are published as the "jobSearch" cache metrics.
+ */
+@Component
+public class JobSearchCache {
+
+    private static final int TERM_PREFIX = 3;
+
+    private final Cache<SearchKey, Page<Job>> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final boolean enabled;
+
+    public JobSearchCache(@Value("${jobportal.search.cache.enabled:true}") boolean enabled,
+                          @Value("${jobportal.search.cache.maximum-size:1000}") long maximumSize,
+                          @Value("${jobportal.search.cache.ttl:60s}") Duration ttl,
+                          ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "jobSearch"));
+    }
+
+    /**
+     * Returns the cached page for the search, loading and caching it on a miss.
+     * @param searchDTO A search already passed through {@link #normalize(JobSearchDTO)}.
+     */
+    public Page<Job> get(JobSearchDTO searchDTO, Supplier<Page<Job>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        SearchKey key = SearchKey.of(searchDTO);
+        Page<Job> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Skip the put if a write invalidated entries while we were loading
+        long loadedAt = generation.get();
+        Page<Job> page = loader.get();
+        cache.asMap().compute(key, (k, existing) -> generation.get() == loadedAt ? page : existing);
+        // An invalidation that started before the put may have missed it, so drop it again
+        if (generation.get() != loadedAt) {
+            cache.asMap().remove(key, page);
+        }
+        return page;
+    }
+
+    // After JobIndex has applied the change, so a page loaded after this sees it
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.mayMatch(event.getPrevious()) || key.mayMatch(event.getJob()));
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * @return A copy of the search with trimmed, lower-cased text filters
+     *         (blank becomes null) and a canonical sort direction.
+     */
+    public static JobSearchDTO normalize(JobSearchDTO searchDTO) {
+        JobSearchDTO normalized = new JobSearchDTO();
+        normalized.setKeyword(normalizeText(searchDTO.getKeyword()));
+        normalized.setLocation(normalizeText(searchDTO.getLocation()));
+        normalized.setMinSalary(searchDTO.getMinSalary());
+        normalized.setMaxSalary(searchDTO.getMaxSalary());
+        normalized.setJobType(searchDTO.getJobType());
+        normalized.setSortBy(searchDTO.getSortBy().trim());
+        normalized.setSortDirection(searchDTO.getSortDirection().equalsIgnoreCase("ASC") ? "ASC" : "DESC");
+        normalized.setPage(searchDTO.getPage());
+        normalized.setSize(searchDTO.getSize());
+        normalized.setPagination(searchDTO.getPagination());
+        normalized.setCursor(searchDTO.getCursor());
+        normalized.setEstimateTotal(searchDTO.isEstimateTotal());
+        normalized.setFacets(searchDTO.isFacets());
+        normalized.setFacetLimit(searchDTO.getFacetLimit());
+        normalized.setNear(normalizeText(searchDTO.getNear()));
+        normalized.setRadiusKm(searchDTO.getRadiusKm());
+        return normalized;
+    }
+
+    private static String normalizeText(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record SearchKey(String keyword, String location, JobType jobType, Double minSalary, Double maxSalary,
+                             String near, double radiusKm, String sortBy, String sortDirection, int page, int size) {
+
+        static SearchKey of(JobSearchDTO searchDTO) {
+            return new SearchKey(searchDTO.getKeyword(), searchDTO.getLocation(), searchDTO.getJobType(),
+                    searchDTO.getMinSalary(), searchDTO.getMaxSalary(), searchDTO.getNear(), searchDTO.getRadiusKm(),
+                    searchDTO.getSortBy(), searchDTO.getSortDirection(), searchDTO.getPage(), searchDTO.getSize());
+        }
+
+        /**
+         * @return false only if the job certainly does not match this search.
+         * The radius filter is not checked, it only ever narrows the result.
+         */
+        boolean mayMatch(Job job) {
+            if (job == null) {
+                return false;
+            }
+            if (jobType != null && job.getJobType() != jobType) {
+                return false;
+            }
+            if (minSalary != null && (job.getMinSalary() == null || job.getMinSalary().compareTo(BigDecimal.valueOf(minSalary)) < 0)) {
+                return false;
+            }
+            if (maxSalary != null && (job.getMaxSalary() == null || job.getMaxSalary().compareTo(BigDecimal.valueOf(maxSalary)) > 0)) {
+                return false;
+            }
+            if (location != null && !mayContain(job.getLocation(), location)) {
+                return false;
+            }
+            return keyword == null || mayContain(
+                    job.getTitle() + " " + job.getDescription() + " " + job.getRequirements() + " " + job.getCompany(), keyword);
+        }
+
+        private static boolean mayContain(String text, String query) {
+            List<String> terms = Tokenizer.tokenize(query);
+            if (terms.isEmpty()) {
+                return true;
+            }
+            String haystack = text == null ? "" : text.toLowerCase(Locale.ROOT);
+            for (String term : terms) {
+                if (haystack.contains(term.substring(0, Math.min(term.length(), TERM_PREFIX)))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
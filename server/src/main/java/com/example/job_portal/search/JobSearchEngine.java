@@ -0,0 +1,36 @@
+package com.example.job_portal.search;
+
+import com.example.job_portal.dto.JobFacetsDTO;
+import com.example.job_portal.dto.JobSearchDTO;
+import com.example.job_portal.model.Job;
+import org.springframework.data.domain.Page;
+
+/**
+ * Strategy used by JobService.searchJobs. The active implementation is chosen
+ * with the {@code jobportal.search.engine} property.
+ */
+public interface JobSearchEngine {
+
+    /**
+     * Search jobs with filters and pagination
+     * @param searchDTO Search parameters
+     * @return Page of jobs matching the search criteria
+     */
+    Page<Job> search(JobSearchDTO searchDTO);
+
+    /**
+     * Count the jobs a search matches, without loading them
+     * @param searchDTO Search parameters; paging and sorting are ignored
+     * @return Number of matching jobs
+     */
+    long count(JobSearchDTO searchDTO);
+
+    /**
+     * Compute facet counts (job type, salary band, top locations) for the
+     * open jobs a search matches
+     * @param searchDTO Search parameters; paging and sorting are ignored
+     * @param locationLimit Number of locations in the location facet
+     * @return Facet counts
+     */
+    JobFacetsDTO facets(JobSearchDTO searchDTO, int locationLimit);
+}
@@ -0,0 +1,108 @@
+package com.example.job_portal.search;
+
+import com.example.job_portal.model.Job;
+import com.example.job_portal.model.JobStatus;
+import com.example.job_portal.model.JobType;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Opaque cursor for keyset pagination over jobs. A cursor records the sort
+ * field, the direction and the (sort value, id) pair of the last job on a
+ * page; the next page starts strictly after that pair. Jobs without a sort
+ * value come last in either direction, and a null value has its own marker
+ * so it is not mistaken for an empty string.
+ */
+public final class KeysetCursor {
+
+    private static final Set<String> SORTABLE = Set.of(
+            "postedDate", "title", "company", "location", "minSalary", "maxSalary", "jobType", "status", "id");
+    private static final String SEPARATOR = "|";
+    // Prefixes of the sort value, which is the last part and may contain the separator
+    private static final String VALUE = "v";
+    private static final String NULL = "n";
+
+    private KeysetCursor() {
+    }
+
+    public static boolean isSortable(String sortBy) {
+        return SORTABLE.contains(sortBy);
+    }
+
+    public static String encode(String sortBy, Sort.Direction direction, Job last) {
+        Object value = sortValue(sortBy, last);
+        String raw = sortBy + SEPARATOR + direction.name() + SEPARATOR + last.getId() + SEPARATOR
+                + (value != null ? VALUE + value : NULL);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor is malformed or was issued
+     *         for a different sort than the current request.
+     */
+    public static Position decode(String cursor, String sortBy, Sort.Direction direction) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        String[] parts = raw.split("\\" + SEPARATOR, 4);
+        if (parts.length != 4 || !parts[0].equals(sortBy) || !parts[1].equals(direction.name())) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+
+        try {
+            long id = Long.parseLong(parts[2]);
+            if (parts[3].equals(NULL)) {
+                return new Position(null, id);
+            }
+            if (!parts[3].startsWith(VALUE)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Position(parse(sortBy, parts[3].substring(VALUE.length())), id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static Object sortValue(String sortBy, Job job) {
+        return switch (sortBy) {
+            case "postedDate" -> job.getPostedDate();
+            case "title" -> job.getTitle();
+            case "company" -> job.getCompany();
+            case "location" -> job.getLocation();
+            case "minSalary" -> job.getMinSalary();
+            case "maxSalary" -> job.getMaxSalary();
+            case "jobType" -> job.getJobType();
+            case "status" -> job.getStatus();
+            default -> job.getId();
+        };
+    }
+
+    private static Object parse(String sortBy, String value) {
+        Function<String, Object> parser = switch (sortBy) {
+            case "id" -> Long::valueOf;
+            case "postedDate" -> LocalDateTime::parse;
+            case "minSalary", "maxSalary" -> BigDecimal::new;
+            case "jobType" -> JobType::valueOf;
+            case "status" -> JobStatus::valueOf;
+            default -> v -> v;
+        };
+        return parser.apply(value);
+    }
+
+    /**
+     * The (sort value, id) pair of the last job on the previous page.
+     * @param value Sort value, null if that job had none.
+     */
+    public record Position(Object value, long id) {
+    }
+}
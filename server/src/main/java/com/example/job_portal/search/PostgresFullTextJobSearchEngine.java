@@ -0,0 +1,108 @@
+package com.example.job_portal.search;
+
+import com.example.job_portal.dto.JobFacetsDTO;
+import com.example.job_portal.dto.JobSearchDTO;
+import com.example.job_portal.geo.Gazetteer;
+import com.example.job_portal.model.Job;
+import com.example.job_portal.repository.JobRepository;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+
+/**
+ * Answers keyword searches with PostgreSQL full-text search over the
+ * generated search_vector column, ordered by relevance and recency.
+ * Searches without a keyword, and radius searches, fall back to the regular
+ * query and sort. Counts and facets follow the same split.
+ */
+@Component
+@ConditionalOnProperty(name = "jobportal.search.engine", havingValue = "fulltext")
+public class PostgresFullTextJobSearchEngine implements JobSearchEngine, InitializingBean {
+
+    private static final String SCHEMA_SCRIPT = "db/migration/V3__add_jobs_search_vector.sql";
+
+    private final JobRepository jobRepository;
+    private final DatabaseJobSearchEngine fallback;
+    private final SqlJobFacets sqlJobFacets;
+    private final DataSource dataSource;
+
+    private final double recencyWeight;
+    private final double recencyDays;
+    private final boolean initializeSchema;
+
+    public PostgresFullTextJobSearchEngine(JobRepository jobRepository, Gazetteer gazetteer, SqlJobFacets sqlJobFacets,
+                                           DataSource dataSource,
+                                           @Value("${jobportal.search.fulltext.recency-weight:0.1}") double recencyWeight,
+                                           @Value("${jobportal.search.fulltext.recency-days:30}") double recencyDays,
+                                           @Value("${jobportal.search.fulltext.initialize-schema:true}") boolean initializeSchema) {
+        this.jobRepository = jobRepository;
+        this.fallback = new DatabaseJobSearchEngine(jobRepository, gazetteer, sqlJobFacets);
+        this.sqlJobFacets = sqlJobFacets;
+        this.dataSource = dataSource;
+        this.recencyWeight = recencyWeight;
+        this.recencyDays = recencyDays;
+        this.initializeSchema = initializeSchema;
+    }
+
+    /**
+     * Adds the search_vector column and its GIN index if they are missing.
+     * The script is idempotent, so this is safe on every startup.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        if (initializeSchema) {
+            new ResourceDatabasePopulator(new ClassPathResource(SCHEMA_SCRIPT)).execute(dataSource);
+        }
+    }
+
+    @Override
+    public Page<Job> search(JobSearchDTO searchDTO) {
+        if (!isFullText(searchDTO)) {
+            return fallback.search(searchDTO);
+        }
+        String keyword = searchDTO.getKeyword();
+
+        // Ordering is fixed by the query, so the pageable stays unsorted
+        PageRequest pageable = PageRequest.of(searchDTO.getPage(), searchDTO.getSize());
+
+        BigDecimal minSalary = searchDTO.getMinSalary() != null ?
+            BigDecimal.valueOf(searchDTO.getMinSalary()) : null;
+        BigDecimal maxSalary = searchDTO.getMaxSalary() != null ?
+            BigDecimal.valueOf(searchDTO.getMaxSalary()) : null;
+
+        return jobRepository.searchJobsFullText(
+            keyword.trim(),
+            searchDTO.getLocation(),
+            searchDTO.getJobType() != null ? searchDTO.getJobType().name() : null,
+            minSalary,
+            maxSalary,
+            recencyWeight,
+            recencyDays,
+            pageable
+        );
+    }
+
+    @Override
+    public long count(JobSearchDTO searchDTO) {
+        return isFullText(searchDTO) ? sqlJobFacets.countFullText(searchDTO) : fallback.count(searchDTO);
+    }
+
+    @Override
+    public JobFacetsDTO facets(JobSearchDTO searchDTO, int locationLimit) {
+        return isFullText(searchDTO) ?
+            sqlJobFacets.facetsFullText(searchDTO, locationLimit) : fallback.facets(searchDTO, locationLimit);
+    }
+
+    private static boolean isFullText(JobSearchDTO searchDTO) {
+        String keyword = searchDTO.getKeyword();
+        return keyword != null && !keyword.isBlank() && searchDTO.getNear() == null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.job_portal.search;
+
+import java.math.BigDecimal;
+
+/**
+ * Salary ranges used for the salary facet, bucketed by a job's minSalary.
+ */
+public enum SalaryBand {
+    UNDER_30K(0, 30_000),
+    FROM_30K_TO_60K(30_000, 60_000),
+    FROM_60K_TO_100K(60_000, 100_000),
+    FROM_100K_TO_150K(100_000, 150_000),
+    OVER_150K(150_000, Long.MAX_VALUE);
+
+    private final long from;
+    private final long to;
+
+    SalaryBand(long from, long to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * @return The band containing the salary, or null if it is not set.
+     */
+    public static SalaryBand of(BigDecimal salary) {
+        if (salary == null) {
+            return null;
+        }
+        long value = salary.longValue();
+        for (SalaryBand band : values()) {
+            if (value < band.to) {
+                return band;
+            }
+        }
+        return OVER_150K;
+    }
+
+    public long getFrom() {
+        return from;
+    }
+
+    public long getTo() {
+        return to;
+    }
+}
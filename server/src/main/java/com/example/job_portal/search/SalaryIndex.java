@@ -0,0 +1,205 @@
+package com.example.job_portal.search;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Sorted primitive columns of job salaries in cents, used to answer the
+ * minSalary/maxSalary filters with a binary search instead of comparing
+ * BigDecimals job by job.
+ *
+ * Not thread-safe; {@link JobIndex} guards it with its own lock.
+ *
+ * A full rebuild goes through {@link #build}, which sorts each column once;
+ * {@link #add} and {@link #remove} shift the arrays and are meant for
+ * single changes only.
+ */
+class SalaryIndex {
+
+    private final Column minSalaries = new Column();
+    private final Column maxSalaries = new Column();
+
+    void add(int ordinal, BigDecimal minSalary, BigDecimal maxSalary) {
+        if (minSalary != null) {
+            minSalaries.insert(toCents(minSalary), ordinal);
+        }
+        if (maxSalary != null) {
+            maxSalaries.insert(toCents(maxSalary), ordinal);
+        }
+    }
+
+    /**
+     * Replaces the contents with the salaries of all jobs, in O(n log n).
+     * @param minSalaries Minimum salary by ordinal, null where unknown.
+     * @param maxSalaries Maximum salary by ordinal, null where unknown.
+     */
+    void build(List<BigDecimal> minSalaries, List<BigDecimal> maxSalaries) {
+        this.minSalaries.build(minSalaries);
+        this.maxSalaries.build(maxSalaries);
+    }
+
+    void remove(int ordinal, BigDecimal minSalary, BigDecimal maxSalary) {
+        if (minSalary != null) {
+            minSalaries.delete(toCents(minSalary), ordinal);
+        }
+        if (maxSalary != null) {
+            maxSalaries.delete(toCents(maxSalary), ordinal);
+        }
+    }
+
+    void clear() {
+        minSalaries.clear();
+        maxSalaries.clear();
+    }
+
+    /**
+     * @return Ordinals of jobs whose minSalary is at least the given amount.
+     */
+    BitSet minSalaryAtLeast(double amount) {
+        return minSalaries.from(ceilCents(amount));
+    }
+
+    /**
+     * @return Ordinals of jobs whose maxSalary is at most the given amount.
+     */
+    BitSet maxSalaryAtMost(double amount) {
+        return maxSalaries.upTo(floorCents(amount));
+    }
+
+    private static long toCents(BigDecimal salary) {
+        return salary.movePointRight(2).longValue();
+    }
+
+    private static long ceilCents(double amount) {
+        double scaled = amount * 100;
+        long rounded = Math.round(scaled);
+        // Absorb binary floating point noise such as 0.29 * 100 = 28.999999999999996
+        return Math.abs(scaled - rounded) < 1e-6 ? rounded : (long) Math.ceil(scaled);
+    }
+
+    private static long floorCents(double amount) {
+        double scaled = amount * 100;
+        long rounded = Math.round(scaled);
+        return Math.abs(scaled - rounded) < 1e-6 ? rounded : (long) Math.floor(scaled);
+    }
+
+    /**
+     * Parallel arrays sorted by (cents, ordinal) with spare capacity at the end.
+     */
+    private static final class Column {
+        private long[] cents = new long[16];
+        private int[] ordinals = new int[16];
+        private int size;
+
+        void insert(long value, int ordinal) {
+            int at = position(value, ordinal);
+            if (size == cents.length) {
+                cents = Arrays.copyOf(cents, Math.max(16, size * 2));
+                ordinals = Arrays.copyOf(ordinals, Math.max(16, size * 2));
+            }
+            System.arraycopy(cents, at, cents, at + 1, size - at);
+            System.arraycopy(ordinals, at, ordinals, at + 1, size - at);
+            cents[at] = value;
+            ordinals[at] = ordinal;
+            size++;
+        }
+
+        void delete(long value, int ordinal) {
+            int at = position(value, ordinal);
+            if (at < size && cents[at] == value && ordinals[at] == ordinal) {
+                System.arraycopy(cents, at + 1, cents, at, size - at - 1);
+                System.arraycopy(ordinals, at + 1, ordinals, at, size - at - 1);
+                size--;
+            }
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        /**
+         * Sorts the values once, then places each ordinal after the equal
+         * values placed before it. Ordinals are visited in ascending order, so
+         * entries end up sorted by (cents, ordinal) as insert would leave them.
+         */
+        void build(List<BigDecimal> salaries) {
+            long[] values = new long[salaries.size()];
+            int[] valueOrdinals = new int[salaries.size()];
+            int count = 0;
+            for (int ordinal = 0; ordinal < salaries.size(); ordinal++) {
+                BigDecimal salary = salaries.get(ordinal);
+                if (salary != null) {
+                    values[count] = toCents(salary);
+                    valueOrdinals[count] = ordinal;
+                    count++;
+                }
+            }
+
+            long[] sorted = Arrays.copyOf(values, Math.max(16, count));
+            Arrays.sort(sorted, 0, count);
+            cents = sorted;
+            ordinals = new int[sorted.length];
+            size = count;
+
+            // placed[i]: entries placed so far in the run of equal values starting at i
+            int[] placed = new int[count];
+            for (int i = 0; i < count; i++) {
+                int run = lowerBound(values[i]);
+                ordinals[run + placed[run]++] = valueOrdinals[i];
+            }
+        }
+
+        BitSet from(long value) {
+            BitSet result = new BitSet();
+            for (int i = lowerBound(value); i < size; i++) {
+                result.set(ordinals[i]);
+            }
+            return result;
+        }
+
+        BitSet upTo(long value) {
+            BitSet result = new BitSet();
+            int end = lowerBound(value == Long.MAX_VALUE ? value : value + 1);
+            for (int i = 0; i < end; i++) {
+                result.set(ordinals[i]);
+            }
+            return result;
+        }
+
+        /**
+         * @return Index of the first entry with cents >= value.
+         */
+        private int lowerBound(long value) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cents[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * @return Index of the first entry ordered at or after (value, ordinal).
+         */
+        private int position(long value, int ordinal) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cents[mid] < value || (cents[mid] == value && ordinals[mid] < ordinal)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
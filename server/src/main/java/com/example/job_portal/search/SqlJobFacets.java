@@ -0,0 +1,197 @@
+package com.example.job_portal.search;
+
+import com.example.job_portal.dto.JobFacetsDTO;
+import com.example.job_portal.dto.JobSearchDTO;
+import com.example.job_portal.model.Job;
+import com.example.job_portal.model.JobStatus;
+import com.example.job_portal.model.JobType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Match counts and facet counts computed by the database, for the search
+ * engines that do not keep the jobs in memory. The counts are the ones
+ * {@link JobIndex#facets} reports, with aggregate queries instead of bitsets:
+ * one row of conditional counts for job types and salary bands, and one
+ * GROUP BY for the top locations.
+ */
+@Component
+public class SqlJobFacets {
+
+    // Same conditions as JobRepository.searchJobsFullText
+    private static final String FULL_TEXT_MATCH = """
+            FROM jobs j
+            WHERE j.search_vector @@ websearch_to_tsquery('english', :keyword)
+            AND j.deleted_at IS NULL
+            AND (CAST(:location AS text) IS NULL OR LOWER(j.location) LIKE LOWER(CONCAT('%', CAST(:location AS text), '%')))
+            AND (CAST(:jobType AS text) IS NULL OR j.type = CAST(:jobType AS text))
+            AND (CAST(:minSalary AS numeric) IS NULL OR j.min_salary >= CAST(:minSalary AS numeric))
+            AND (CAST(:maxSalary AS numeric) IS NULL OR j.max_salary <= CAST(:maxSalary AS numeric))
+            """;
+
+    private final EntityManager entityManager;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public SqlJobFacets(EntityManager entityManager, DataSource dataSource) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    /**
+     * Facet counts over the open jobs matching the specification.
+     */
+    public JobFacetsDTO facets(Specification<Job> spec, int locationLimit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> counts = cb.createTupleQuery();
+        Root<Job> job = counts.from(Job.class);
+        Path<BigDecimal> minSalary = job.get("minSalary");
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(cb.count(job));
+        for (JobType type : JobType.values()) {
+            selections.add(countWhere(cb, job, cb.equal(job.get("jobType"), type)));
+        }
+        for (SalaryBand band : SalaryBand.values()) {
+            selections.add(countWhere(cb, job, inBand(cb, minSalary, band)));
+        }
+        counts.multiselect(selections).where(openMatching(spec, job, counts, cb));
+        Tuple row = entityManager.createQuery(counts).getSingleResult();
+
+        CriteriaQuery<Tuple> locations = cb.createTupleQuery();
+        Root<Job> located = locations.from(Job.class);
+        Expression<String> location = cb.trim(located.get("location"));
+        Expression<String> key = cb.lower(location);
+        locations.multiselect(key, cb.least(location), cb.count(located))
+                .where(openMatching(spec, located, locations, cb), cb.notEqual(location, ""))
+                .groupBy(key)
+                .orderBy(cb.desc(cb.count(located)), cb.asc(key));
+        List<Tuple> topLocations = entityManager.createQuery(locations).setMaxResults(locationLimit).getResultList();
+
+        long[] values = new long[selections.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = row.get(i, Long.class);
+        }
+        Map<String, Long> locationCounts = new LinkedHashMap<>();
+        topLocations.forEach(t -> locationCounts.put(t.get(1, String.class), t.get(2, Long.class)));
+        return facets(values, locationCounts);
+    }
+
+    /**
+     * Number of jobs matching a full-text keyword search, as searched by
+     * JobRepository.searchJobsFullText.
+     */
+    public long countFullText(JobSearchDTO searchDTO) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) " + FULL_TEXT_MATCH, fullTextParameters(searchDTO), Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Facet counts over the open jobs matching a full-text keyword search.
+     */
+    public JobFacetsDTO facetsFullText(JobSearchDTO searchDTO, int locationLimit) {
+        // Enum names and band bounds are constants, so they are written into the SQL
+        StringJoiner columns = new StringJoiner(", ", "SELECT COUNT(*), ", " ");
+        for (JobType type : JobType.values()) {
+            columns.add("COUNT(*) FILTER (WHERE j.type = '" + type.name() + "')");
+        }
+        for (SalaryBand band : SalaryBand.values()) {
+            columns.add("COUNT(*) FILTER (WHERE " + bandCondition(band) + ")");
+        }
+        String open = " AND j.status = '" + JobStatus.OPEN.name() + "'";
+        MapSqlParameterSource parameters = fullTextParameters(searchDTO).addValue("limit", locationLimit);
+
+        long[] values = jdbcTemplate.queryForObject(columns + FULL_TEXT_MATCH + open, parameters, (rs, rowNum) -> {
+            long[] counts = new long[rs.getMetaData().getColumnCount()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = rs.getLong(i + 1);
+            }
+            return counts;
+        });
+
+        Map<String, Long> locationCounts = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+                SELECT MIN(TRIM(j.location)) AS display_name, COUNT(*) AS jobs
+                """ + FULL_TEXT_MATCH + open + """
+                 AND TRIM(j.location) <> ''
+                GROUP BY LOWER(TRIM(j.location))
+                ORDER BY jobs DESC, LOWER(TRIM(j.location))
+                LIMIT :limit
+                """, parameters, rs -> {
+            locationCounts.put(rs.getString("display_name"), rs.getLong("jobs"));
+        });
+        return facets(values, locationCounts);
+    }
+
+    // values: the total, one count per job type, then one per salary band
+    private static JobFacetsDTO facets(long[] values, Map<String, Long> locations) {
+        int i = 1;
+        Map<String, Long> typeCounts = new LinkedHashMap<>();
+        for (JobType type : JobType.values()) {
+            typeCounts.put(type.name(), values[i++]);
+        }
+        Map<String, Long> bandCounts = new LinkedHashMap<>();
+        for (SalaryBand band : SalaryBand.values()) {
+            bandCounts.put(band.name(), values[i++]);
+        }
+        return new JobFacetsDTO(values[0], typeCounts, bandCounts, locations);
+    }
+
+    private static Predicate openMatching(Specification<Job> spec, Root<Job> job, CriteriaQuery<?> query,
+                                          CriteriaBuilder cb) {
+        Predicate open = cb.equal(job.get("status"), JobStatus.OPEN);
+        Predicate matching = spec.toPredicate(job, query, cb);
+        return matching != null ? cb.and(matching, open) : open;
+    }
+
+    // COUNT of a CASE without ELSE counts the rows the condition holds for
+    private static Expression<Long> countWhere(CriteriaBuilder cb, Root<Job> job, Predicate condition) {
+        return cb.count(cb.<Long>selectCase().when(condition, job.<Long>get("id")));
+    }
+
+    // The bands SalaryBand.of puts a salary in; the first one takes everything below its upper bound
+    private static Predicate inBand(CriteriaBuilder cb, Path<BigDecimal> salary, SalaryBand band) {
+        Predicate below = cb.lessThan(salary, BigDecimal.valueOf(band.getTo()));
+        if (band.ordinal() == 0) {
+            return below;
+        }
+        Predicate from = cb.greaterThanOrEqualTo(salary, BigDecimal.valueOf(band.getFrom()));
+        return band.getTo() == Long.MAX_VALUE ? from : cb.and(from, below);
+    }
+
+    private static String bandCondition(SalaryBand band) {
+        String below = "j.min_salary < " + band.getTo();
+        if (band.ordinal() == 0) {
+            return below;
+        }
+        String from = "j.min_salary >= " + band.getFrom();
+        return band.getTo() == Long.MAX_VALUE ? from : from + " AND " + below;
+    }
+
+    private static MapSqlParameterSource fullTextParameters(JobSearchDTO searchDTO) {
+        return new MapSqlParameterSource()
+                .addValue("keyword", searchDTO.getKeyword().trim())
+                .addValue("location", searchDTO.getLocation())
+                .addValue("jobType", searchDTO.getJobType() != null ? searchDTO.getJobType().name() : null)
+                .addValue("minSalary", searchDTO.getMinSalary() != null ? BigDecimal.valueOf(searchDTO.getMinSalary()) : null)
+                .addValue("maxSalary", searchDTO.getMaxSalary() != null ? BigDecimal.valueOf(searchDTO.getMaxSalary()) : null);
+    }
+}
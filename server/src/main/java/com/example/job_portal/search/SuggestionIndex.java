@@ -0,0 +1,346 @@
+package com.example.job_portal.search;
+
+import com.example.job_portal.dto.SuggestionDTO;
+import com.example.job_portal.event.JobChangedEvent;
+import com.example.job_portal.model.Job;
+import com.example.job_portal.repository.JobRepository;
+import com.example.job_portal.repository.JobSuggestionSource;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Frequency weighted prefix tries over job titles, companies and locations
+ * for typeahead. Every value is reachable from the start of each of its
+ * words, so "dev" completes "Java Developer". The tries are compact (radix)
+ * tries: a chain of single-child nodes is one edge labelled with the whole
+ * string, so nodes grow with the number of keys rather than their length.
+ * Each node caches the highest weight below it, which lets a best-first walk
+ * stop after the top K completions without visiting the rest of the subtree.
+ *
+ * Weights are job counts, kept current through {@link JobChangedEvent}s.
+ * The values each job counts for are kept by job id, so a change is applied
+ * the same way whether or not the job was already counted; changes made
+ * while a rebuild reads the jobs are applied once it is done.
+ */
+@Component
+public class SuggestionIndex {
+
+    public enum Field {
+        TITLE,
+        COMPANY,
+        LOCATION
+    }
+
+    private final JobRepository jobRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Field, Trie> tries = new EnumMap<>(Field.class);
+    private final Map<Long, Values> counted = new HashMap<>();
+    private final ChangeBuffer<JobChangedEvent> changesDuringLoad = new ChangeBuffer<>();
+
+    public SuggestionIndex(JobRepository jobRepository) {
+        this.jobRepository = jobRepository;
+        for (Field field : Field.values()) {
+            tries.put(field, new Trie());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        changesDuringLoad.start();
+        List<JobSuggestionSource> sources;
+        try {
+            sources = jobRepository.findSuggestionSources();
+        } catch (RuntimeException e) {
+            changesDuringLoad.finish();
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Field field : Field.values()) {
+                tries.put(field, new Trie());
+            }
+            counted.clear();
+            for (JobSuggestionSource source : sources) {
+                count(source.getId(), new Values(source.getTitle(), source.getCompany(), source.getLocation()));
+            }
+            changesDuringLoad.finish().forEach(this::apply);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        if (changesDuringLoad.offer(event)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(JobChangedEvent event) {
+        Job job = event.getJob();
+        count(event.getJobId(), job == null ? null : new Values(job.getTitle(), job.getCompany(), job.getLocation()));
+    }
+
+    // Replaces what the job counts for; null values stop counting it
+    private void count(Long jobId, Values values) {
+        Values previous = values == null ? counted.remove(jobId) : counted.put(jobId, values);
+        if (previous != null) {
+            update(previous, -1);
+        }
+        if (values != null) {
+            update(values, 1);
+        }
+    }
+
+    /**
+     * Returns the most frequent completions of a prefix.
+     * @param prefix Text typed so far.
+     * @param field Field to complete, or null for all fields.
+     * @param limit Maximum number of suggestions.
+     * @return Suggestions ordered by descending job count.
+     */
+    public List<SuggestionDTO> suggest(String prefix, Field field, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<SuggestionDTO> result = new ArrayList<>();
+            for (Field f : Field.values()) {
+                if (field == null || field == f) {
+                    for (Entry entry : tries.get(f).top(key, limit)) {
+                        result.add(new SuggestionDTO(entry.text, f.name(), entry.weight));
+                    }
+                }
+            }
+            result.sort(Comparator.comparingInt(SuggestionDTO::getCount).reversed()
+                    .thenComparing(SuggestionDTO::getText));
+            return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void update(Values values, int delta) {
+        tries.get(Field.TITLE).add(values.title(), delta);
+        tries.get(Field.COMPANY).add(values.company(), delta);
+        tries.get(Field.LOCATION).add(values.location(), delta);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Entry {
+        private final String text;
+        private int weight;
+
+        private Entry(String text) {
+            this.text = text;
+        }
+    }
+
+    private record Values(String title, String company, String location) {
+    }
+
+    private static final class Node {
+        private String edge; // Label of the edge from the parent, empty for the root
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final Map<String, Entry> entries = new HashMap<>(2);
+        private int maxWeight;
+
+        private Node(String edge) {
+            this.edge = edge;
+        }
+    }
+
+    private record Candidate(int weight, Node node, Entry entry) {
+    }
+
+    private static final class Trie {
+        private final Node root = new Node("");
+        private final Map<String, Entry> entries = new HashMap<>();
+
+        void add(String text, int delta) {
+            String value = normalize(text);
+            if (value.isEmpty()) {
+                return;
+            }
+
+            Entry entry = entries.computeIfAbsent(value, v -> new Entry(text.trim()));
+            entry.weight += delta;
+            for (String key : wordSuffixes(value)) {
+                updatePath(key, value, entry);
+            }
+            if (entry.weight <= 0) {
+                entries.remove(value);
+            }
+        }
+
+        /**
+         * Walks down to the node for the key, splitting an edge where the key
+         * ends or branches inside it, registers or drops the entry there and
+         * refreshes the cached max weights on the way back up. Nodes left
+         * without entries are removed, or merged into their only child.
+         */
+        private void updatePath(String key, String value, Entry entry) {
+            boolean adding = entry.weight > 0;
+            List<Node> path = new ArrayList<>();
+            path.add(root);
+            Node node = root;
+            int depth = 0;
+            while (depth < key.length()) {
+                Node child = node.children.get(key.charAt(depth));
+                if (child == null) {
+                    if (!adding) {
+                        return;
+                    }
+                    child = new Node(key.substring(depth));
+                    node.children.put(key.charAt(depth), child);
+                } else {
+                    int common = commonPrefixLength(child.edge, key, depth);
+                    if (common < child.edge.length()) {
+                        if (!adding) {
+                            return;
+                        }
+                        child = split(node, child, common);
+                    }
+                }
+                depth += child.edge.length();
+                node = child;
+                path.add(node);
+            }
+
+            if (adding) {
+                node.entries.put(value, entry);
+            } else {
+                node.entries.remove(value);
+            }
+
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node current = path.get(i);
+                int max = 0;
+                for (Entry e : current.entries.values()) {
+                    max = Math.max(max, e.weight);
+                }
+                for (Node c : current.children.values()) {
+                    max = Math.max(max, c.maxWeight);
+                }
+                current.maxWeight = max;
+                if (i > 0 && current.entries.isEmpty() && current.children.size() <= 1) {
+                    compact(path.get(i - 1), current);
+                }
+            }
+        }
+
+        // Puts a node for the first length characters of child's edge between parent and child
+        private static Node split(Node parent, Node child, int length) {
+            Node middle = new Node(child.edge.substring(0, length));
+            child.edge = child.edge.substring(length);
+            middle.children.put(child.edge.charAt(0), child);
+            middle.maxWeight = child.maxWeight;
+            parent.children.put(middle.edge.charAt(0), middle);
+            return middle;
+        }
+
+        // Drops a node without entries, joining its edge onto its only child if it has one
+        private static void compact(Node parent, Node node) {
+            if (node.children.isEmpty()) {
+                parent.children.remove(node.edge.charAt(0));
+            } else {
+                Node only = node.children.values().iterator().next();
+                only.edge = node.edge + only.edge;
+                parent.children.put(only.edge.charAt(0), only);
+            }
+        }
+
+        /**
+         * Best-first walk of the subtree under the prefix. Nodes are queued by
+         * their subtree max weight and entries by their own weight, so entries
+         * come out in descending weight order.
+         */
+        List<Entry> top(String prefix, int limit) {
+            Node node = root;
+            int depth = 0;
+            while (depth < prefix.length()) {
+                Node child = node.children.get(prefix.charAt(depth));
+                if (child == null) {
+                    return List.of();
+                }
+                int common = commonPrefixLength(child.edge, prefix, depth);
+                // A prefix ending inside an edge completes to everything below it
+                if (common < child.edge.length() && depth + common < prefix.length()) {
+                    return List.of();
+                }
+                depth += common;
+                node = child;
+            }
+
+            PriorityQueue<Candidate> queue = new PriorityQueue<>(Comparator.comparingInt(Candidate::weight).reversed());
+            queue.add(new Candidate(node.maxWeight, node, null));
+            Set<Entry> result = new LinkedHashSet<>();
+
+            while (!queue.isEmpty() && result.size() < limit) {
+                Candidate head = queue.poll();
+                if (head.entry() != null) {
+                    result.add(head.entry());
+                    continue;
+                }
+                for (Entry entry : head.node().entries.values()) {
+                    queue.add(new Candidate(entry.weight, null, entry));
+                }
+                for (Node child : head.node().children.values()) {
+                    if (child.maxWeight > 0) {
+                        queue.add(new Candidate(child.maxWeight, child, null));
+                    }
+                }
+            }
+            return new ArrayList<>(result);
+        }
+
+        // Characters edge has in common with key from offset on
+        private static int commonPrefixLength(String edge, String key, int offset) {
+            int length = Math.min(edge.length(), key.length() - offset);
+            int i = 0;
+            while (i < length && edge.charAt(i) == key.charAt(offset + i)) {
+                i++;
+            }
+            return i;
+        }
+
+        private static Set<String> wordSuffixes(String value) {
+            Set<String> keys = new LinkedHashSet<>();
+            keys.add(value);
+            for (int i = 1; i < value.length(); i++) {
+                if (value.charAt(i - 1) == ' ') {
+                    keys.add(value.substring(i));
+                }
+            }
+            return keys;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.job_portal.security;
+
+import com.example.job_portal.model.Role;
+import com.example.job_portal.model.User;
+
+import java.security.Principal;
+
+/**
+ * The parts of a user that request authentication needs, small enough to
+ * cache or carry in the token. JwtAuthenticationFilter sets it as the
+ * principal of the request; controllers receive it through {@link CurrentUser}.
+ */
+public record AuthenticatedUser(Long id, String username, Role role) implements Principal {
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole());
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public boolean hasRole(Role expected) {
+        return role == expected;
+    }
+}
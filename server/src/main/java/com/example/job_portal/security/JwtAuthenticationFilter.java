@@ -1,39 +1,58 @@
 package com.example.job_portal.security;
 
-import com.example.job_portal.model.User;
-import com.example.job_portal.repository.UserRepository;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.example.job_portal.logging.RequestLoggingFilter;
+import com.example.job_portal.service.IdempotencyCache;
+import com.example.job_portal.service.JobApplicationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.security.Key;
-import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
+/**
+ * Authenticates bearer tokens. The phases of each authentication (token
+ * parse and verification, revocation check, principal lookup) are timed as
+ * jobportal.security.jwt.filter, tagged by phase.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    private static final String SECRET_KEY = "yourSuperSecretKeyWhichIsAtLeast32CharactersLong";
 
-    private final UserRepository userRepository;
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
-    public JwtAuthenticationFilter(UserRepository userRepository) {
-        this.userRepository = userRepository;
-    }
+    private final JwtUtil jwtUtil;
+    private final PrincipalCache principalCache;
+    private final TokenRevocations tokenRevocations;
+
+    private final Timer parseTimer;
+    private final Timer revocationTimer;
+    private final Timer lookupTimer;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, PrincipalCache principalCache, TokenRevocations tokenRevocations,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.principalCache = principalCache;
+        this.tokenRevocations = tokenRevocations;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.parseTimer = phaseTimer(registry, "parse");
+        this.revocationTimer = phaseTimer(registry, "revocation");
+        this.lookupTimer = phaseTimer(registry, "lookup");
     }
 
     @Override
@@ -46,9 +65,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (origin != null && (origin.equals("http://localhost:5173") || origin.equals("http://localhost:5174"))) {
             response.setHeader("Access-Control-Allow-Origin", origin);
             response.setHeader("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
-            response.setHeader("Access-Control-Allow-Headers", "Authorization, Content-Type");
+            response.setHeader("Access-Control-Allow-Headers", "Authorization, Content-Type, " + IdempotencyCache.HEADER);
             response.setHeader("Access-Control-Allow-Credentials", "true");
-            response.setHeader("Access-Control-Expose-Headers", "Authorization");
+            response.setHeader("Access-Control-Expose-Headers", "Authorization, " + JobApplicationService.HAS_NEXT_HEADER);
         }
         
         if (request.getMethod().equals("OPTIONS")) {
@@ -65,39 +84,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = authHeader.substring(7); 
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            Claims claims = parseTimer.recordCallable(() -> jwtUtil.parseClaims(token));
+
+            // In-memory Bloom filter check; the table is only read on a possible match
+            if (revocationTimer.record(() -> tokenRevocations.isRevoked(claims))) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.getWriter().write("Token has been revoked");
+                return;
+            }
 
             String username = claims.getSubject();
             
-            // Fetch user from database
-            Optional<User> userOpt = userRepository.findByUsername(username);
+            // Resolve the user from the token claims or the principal cache
+            Optional<AuthenticatedUser> userOpt = lookupTimer.record(() -> principalCache.resolve(claims));
             if (userOpt.isPresent()) {
-                User user = userOpt.get();
+                AuthenticatedUser user = userOpt.get();
                 // Create authority from user's role
-                SimpleGrantedAuthority authority = new SimpleGrantedAuthority(user.getRole().name());
+                SimpleGrantedAuthority authority = new SimpleGrantedAuthority(user.role().name());
                 
-                // Create UserDetails with the authority
-                UserDetails userDetails = org.springframework.security.core.userdetails.User
-                    .withUsername(username)
-                    .password("")
-                    .authorities(authority)
-                    .build();
-
+                // The resolved user is the principal, injected into controllers via @CurrentUser
                 UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                        new UsernamePasswordAuthenticationToken(user, null, List.of(authority));
                 
                 SecurityContextHolder.getContext().setAuthentication(authToken);
-                
-                // Debug logging
-                System.out.println("User authenticated: " + username);
-                System.out.println("User authorities: " + userDetails.getAuthorities());
+
+                // Tags every log line of the request; cleared by RequestLoggingFilter
+                MDC.put(RequestLoggingFilter.USER_ID_KEY, String.valueOf(user.id()));
+                log.debug("User authenticated: {} with authorities {}", username, authToken.getAuthorities());
             }
         } catch (Exception e) {
-            System.out.println("Authentication error: " + e.getMessage());
+            log.debug("Authentication error: {}", e.getMessage());
             response.setStatus(HttpServletResponse.SC_FORBIDDEN);
             response.getWriter().write("Invalid or expired token");
             return;
@@ -105,4 +121,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private static Timer phaseTimer(MeterRegistry registry, String phase) {
+        return Timer.builder("jobportal.security.jwt.filter")
+                .description("Time spent in each phase of bearer token authentication")
+                .tag("phase", phase)
+                .register(registry);
+    }
 }
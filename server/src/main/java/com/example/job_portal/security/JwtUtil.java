@@ -1,40 +1,147 @@
 package com.example.job_portal.security;
 
+import com.example.job_portal.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.time.Duration;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Issues and verifies the HS256 tokens of the API.
+ *
+ * The signing key and the parser are built once and shared; the parser is
+ * thread-safe. Tokens that passed verification are remembered by their
+ * SHA-256 digest until they expire, so a client sending the same bearer
+ * token on every request pays for signature verification and claim parsing
+ * only once. Hit and miss counts are published as the "verifiedTokens"
+ * cache metrics.
+ */
 @Component
 public class JwtUtil {
     private static final String SECRET_KEY = "yourSuperSecretKeyWhichIsAtLeast32CharactersLong";
     private static final long EXPIRATION_TIME = 1000 * 60 * 60; // 1 hour
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+
+    private final Key signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+    private final Cache<String, Claims> verifiedTokens;
+    private final boolean cacheEnabled;
+
+    public JwtUtil(@Value("${jobportal.security.jwt.verified-cache.enabled:true}") boolean cacheEnabled,
+                   @Value("${jobportal.security.jwt.verified-cache.maximum-size:10000}") long maximumSize,
+                   ObjectProvider<MeterRegistry> meterRegistry) {
+        this.cacheEnabled = cacheEnabled;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ExpireAtTokenExpiration())
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, verifiedTokens, "verifiedTokens"));
     }
 
-    public String generateToken(String username) {
+    /**
+     * Issues a token for the user. The id and role claims let the
+     * authentication filter skip the user lookup when it trusts them; the
+     * jti identifies the token for revocation.
+     */
+    public String generateToken(User user) {
         return Jwts.builder()
-                .setSubject(username)
+                .setId(UUID.randomUUID().toString())
+                .setSubject(user.getUsername())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole().name())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verifies the token and returns its claims. The claims are shared with
+     * other requests presenting the same token and must not be modified.
+     * @throws JwtException if the token is malformed, tampered with or expired.
+     */
+    public Claims parseClaims(String token) {
+        if (!cacheEnabled) {
+            return parser.parseClaimsJws(token).getBody();
+        }
+
+        String digest = digest(token);
+        Claims claims = verifiedTokens.getIfPresent(digest);
+        if (claims != null && !isExpired(claims)) {
+            return claims;
+        }
+
+        claims = parser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(digest, claims);
+        }
+        return claims;
+    }
+
+    public Duration getTokenLifetime() {
+        return Duration.ofMillis(EXPIRATION_TIME);
+    }
+
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parseClaims(token).getSubject();
     }
 
     public boolean validateToken(String token, String username) {
         return extractUsername(token).equals(username);
     }
+
+    private static boolean isExpired(Claims claims) {
+        return claims.getExpiration().getTime() <= System.currentTimeMillis();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Evicts each verified token when its exp claim is reached.
+     */
+    private static class ExpireAtTokenExpiration implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,127 @@
+package com.example.job_portal.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt off the request threads.
+ *
+ * Hashing happens on a small fixed pool with a bounded queue, so a burst of
+ * logins can occupy at most that many cores and never the servlet threads
+ * serving other endpoints. When the queue is full, new work is rejected
+ * immediately with {@link PasswordHashingRejectedException} rather than
+ * waiting. Pool activity is published as the "passwordHashing" executor metrics.
+ *
+ * The returned futures complete on the application task executor, so what
+ * callers chain onto them (saving the user, signing a token) does not hold
+ * a hashing thread.
+ */
+@Component
+public class PasswordHasher {
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor pool;
+    private final Executor executor;
+    private final Executor completionExecutor;
+
+    public PasswordHasher(@Value("${jobportal.security.password.bcrypt-strength:10}") int strength,
+                          @Value("${jobportal.security.password.hashing.threads:0}") int threads,
+                          @Value("${jobportal.security.password.hashing.queue-capacity:64}") int queueCapacity,
+                          @Value("${jobportal.security.password.hashing.dedicated-executor:true}") boolean dedicatedExecutor,
+                          @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor applicationTaskExecutor,
+                          ObjectProvider<MeterRegistry> meterRegistry) {
+        this.encoder = new BCryptPasswordEncoder(strength);
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        meterRegistry.ifAvailable(registry -> ExecutorServiceMetrics.monitor(registry, pool, "passwordHashing"));
+
+        // Without the dedicated executor hashing runs on the calling (request) thread, as it used to
+        this.executor = dedicatedExecutor ? pool : Runnable::run;
+        this.completionExecutor = dedicatedExecutor ? applicationTaskExecutor : Runnable::run;
+    }
+
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks the password and, if it matches a hash made with a lower cost
+     * than the configured strength, re-hashes it in the same task.
+     * @return The verification result, with the replacement hash if one was made.
+     */
+    public CompletableFuture<Verification> verify(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> {
+            if (encodedPassword == null || !encoder.matches(rawPassword, encodedPassword)) {
+                return new Verification(false, null);
+            }
+            String upgraded = encoder.upgradeEncoding(encodedPassword) ? encoder.encode(rawPassword) : null;
+            return new Verification(true, upgraded);
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, withCallerContext(executor))
+                    .thenApplyAsync(Function.identity(), withCallerContext(completionExecutor));
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingRejectedException("Password hashing is saturated, try again shortly", e);
+        }
+    }
+
+    // Carries the correlation id of the request into the hashing and its continuations
+    private static Executor withCallerContext(Executor executor) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        if (context == null) {
+            return executor;
+        }
+        return command -> executor.execute(() -> {
+            // Without the dedicated executor this is the request thread, whose own context has to survive
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            MDC.setContextMap(context);
+            try {
+                command.run();
+            } finally {
+                if (previous != null) {
+                    MDC.setContextMap(previous);
+                } else {
+                    MDC.clear();
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * @param matches Whether the password matched.
+     * @param upgradedHash A stronger hash of the same password, or null if none is needed.
+     */
+    public record Verification(boolean matches, String upgradedHash) {
+    }
+}
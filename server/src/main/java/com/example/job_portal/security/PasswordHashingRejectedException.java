@@ -0,0 +1,12 @@
+package com.example.job_portal.security;
+
+/**
+ * Thrown when the password hashing executor is saturated and a login or
+ * registration is turned away instead of queued.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
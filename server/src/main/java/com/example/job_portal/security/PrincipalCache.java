@@ -0,0 +1,130 @@
+package com.example.job_portal.security;
+
+import com.example.job_portal.event.UserChangedEvent;
+import com.example.job_portal.model.Role;
+import com.example.job_portal.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves the subject of a verified token to an {@link AuthenticatedUser}
+ * without a users query on every request.
+ *
+ * Principals are kept in a bounded, TTL-evicting cache keyed by username and
+ * are invalidated by {@link UserChangedEvent}s when a user is updated or
+ * deleted. If trust-role-claim is enabled, tokens carrying the uid and role
+ * claims are accepted as they are; a role change then only applies to tokens
+ * issued after it.
+ *
+ * Hit and miss counts are published as the "principals" cache metrics and
+ * lookup latency as jobportal.security.principal.lookup, tagged by source.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> cache;
+    private final boolean enabled;
+    private final boolean trustRoleClaim;
+
+    private final Timer tokenLookups;
+    private final Timer cacheLookups;
+    private final Timer databaseLookups;
+
+    public PrincipalCache(UserRepository userRepository,
+                          @Value("${jobportal.security.principal-cache.enabled:true}") boolean enabled,
+                          @Value("${jobportal.security.principal-cache.maximum-size:10000}") long maximumSize,
+                          @Value("${jobportal.security.principal-cache.ttl:5m}") Duration ttl,
+                          @Value("${jobportal.security.jwt.trust-role-claim:false}") boolean trustRoleClaim,
+                          ObjectProvider<MeterRegistry> meterRegistry) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.trustRoleClaim = trustRoleClaim;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        CaffeineCacheMetrics.monitor(registry, cache, "principals");
+        this.tokenLookups = lookupTimer(registry, "token");
+        this.cacheLookups = lookupTimer(registry, "cache");
+        this.databaseLookups = lookupTimer(registry, "database");
+    }
+
+    /**
+     * @param claims Claims of a token whose signature has been verified.
+     * @return The user the token was issued to, or empty if it no longer exists.
+     */
+    public Optional<AuthenticatedUser> resolve(Claims claims) {
+        long start = System.nanoTime();
+        String username = claims.getSubject();
+
+        if (trustRoleClaim) {
+            Number id = claims.get(JwtUtil.USER_ID_CLAIM, Number.class);
+            String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
+            if (id != null && role != null) {
+                AuthenticatedUser user = new AuthenticatedUser(id.longValue(), username, Role.valueOf(role));
+                tokenLookups.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return Optional.of(user);
+            }
+        }
+
+        if (!enabled) {
+            Optional<AuthenticatedUser> loaded = Optional.ofNullable(load(username));
+            databaseLookups.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return loaded;
+        }
+
+        // Unknown users are not cached, their tokens are rejected anyway
+        boolean[] missed = new boolean[1];
+        AuthenticatedUser user = cache.get(username, key -> {
+            missed[0] = true;
+            return load(key);
+        });
+        (missed[0] ? databaseLookups : cacheLookups).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Optional.ofNullable(user);
+    }
+
+    /**
+     * Drops the cached principal of the user, under its current and any previous username.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getUsername() != null) {
+            cache.invalidate(event.getUsername());
+        }
+        if (event.getUserId() != null) {
+            cache.asMap().values().removeIf(cached -> event.getUserId().equals(cached.id()));
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private AuthenticatedUser load(String username) {
+        return userRepository.findByUsername(username).map(AuthenticatedUser::of).orElse(null);
+    }
+
+    private static Timer lookupTimer(MeterRegistry registry, String source) {
+        return Timer.builder("jobportal.security.principal.lookup")
+                .description("Time to resolve the principal of an authenticated request")
+                .tag("source", source)
+                .register(registry);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.job_portal.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiting of the routes configured under
+ * jobportal.rate-limit.routes, answering 429 with Retry-After once a
+ * client's bucket is empty.
+ *
+ * Runs after {@link JwtAuthenticationFilter}: authenticated requests are
+ * limited per user, anonymous ones (login, register) per remote address.
+ * The remote address is the one Tomcat reports, so behind a proxy set
+ * server.forward-headers-strategy to limit per client rather than per proxy.
+ *
+ * Buckets live in a bounded Caffeine map (striped, no global lock) and are
+ * dropped after idle-timeout; each bucket is a single CAS-updated
+ * timestamp. Rejections are counted as jobportal.rate-limit.rejected,
+ * tagged by route.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final List<LimitedRoute> routes = new ArrayList<>();
+    private final Cache<BucketKey, TokenBucket> buckets;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .recordStats()
+                .build();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        CaffeineCacheMetrics.monitor(registry, buckets, "rateLimitBuckets");
+        for (Map.Entry<String, RateLimitProperties.Route> entry : properties.getRoutes().entrySet()) {
+            routes.add(LimitedRoute.of(entry.getKey(), entry.getValue(), registry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        LimitedRoute route = enabled ? match(request) : null;
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        TokenBucket bucket = buckets.get(new BucketKey(route.name(), clientKey(request)), key -> new TokenBucket());
+        long waitNanos = bucket.tryAcquire(System.nanoTime(), route.capacity(), route.refillNanos());
+        if (waitNanos > 0) {
+            route.rejected().increment();
+            long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.getWriter().write("Too many requests, retry after " + retryAfterSeconds + "s");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private LimitedRoute match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (LimitedRoute route : routes) {
+            if (route.matches(request.getMethod(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return "user:" + user.id();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private record BucketKey(String route, String client) {
+    }
+
+    private record LimitedRoute(String name, List<PathPattern> paths, List<String> methods,
+                                int capacity, long refillNanos, Counter rejected) {
+
+        static LimitedRoute of(String name, RateLimitProperties.Route route, MeterRegistry registry) {
+            if (route.getCapacity() < 1 || route.getPerMinute() <= 0) {
+                throw new IllegalArgumentException("Rate limit of route " + name + " needs a positive capacity and per-minute");
+            }
+            List<PathPattern> paths = route.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+            List<String> methods = route.getMethods().stream().map(method -> method.toUpperCase(Locale.ROOT)).toList();
+            Counter rejected = Counter.builder("jobportal.rate-limit.rejected")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("route", name)
+                    .register(registry);
+            return new LimitedRoute(name, paths, methods, route.getCapacity(),
+                    (long) (TimeUnit.MINUTES.toNanos(1) / route.getPerMinute()), rejected);
+        }
+
+        boolean matches(String method, PathContainer path) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            for (PathPattern pattern : paths) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.job_portal.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate limits per route, bound from jobportal.rate-limit.*. Routes are
+ * matched in declaration order and a request counts against the first
+ * route that matches it.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "jobportal.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Buckets beyond this are evicted least recently used first
+    private long maximumBuckets = 100_000;
+
+    // A bucket idle this long is dropped; it would have refilled by then anyway
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+
+        // Path patterns, e.g. /api/jobs/search or /api/jobs/**
+        private List<String> paths = new ArrayList<>();
+
+        // HTTP methods the limit applies to, all if empty
+        private List<String> methods = new ArrayList<>();
+
+        // Requests allowed in a burst
+        private int capacity = 10;
+
+        // Sustained requests allowed per minute
+        private double perMinute = 60;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.job_portal.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single timestamp, so it can be updated with one
+ * CAS and no lock (the "generic cell rate algorithm" formulation).
+ *
+ * Instead of a token count the bucket stores the time at which it would be
+ * full again. Taking a token pushes that time forward by one refill
+ * interval; the request is allowed as long as the time stays within
+ * capacity intervals of now.
+ */
+class TokenBucket {
+
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param now Current {@link System#nanoTime()}.
+     * @param capacity Maximum burst, in tokens.
+     * @param refillNanos Time to add one token.
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available.
+     */
+    long tryAcquire(long now, int capacity, long refillNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + refillNanos;
+            long excess = next - now - capacity * refillNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
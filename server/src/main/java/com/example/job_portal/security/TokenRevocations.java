@@ -0,0 +1,198 @@
+package com.example.job_portal.security;
+
+import com.example.job_portal.model.RevokedToken;
+import com.example.job_portal.repository.RevokedTokenRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Revocation of tokens before their expiry: single tokens by jti (logout)
+ * and every token of a user issued up to a point in time (revoke-all).
+ *
+ * Revocations are stored in revoked_tokens and mirrored into Bloom filters,
+ * so the check on each authenticated request is a few memory reads; the
+ * table is only consulted when a filter reports a possible match. Each
+ * filter covers the revocations expiring in one time window and is dropped
+ * when that window has passed, so memory stays bounded by the revocations
+ * of the last token lifetime. Revocations made by other instances are
+ * picked up on the next sync.
+ *
+ * Check outcomes are counted as jobportal.security.revocation.checks,
+ * tagged by result; looked_up counts the table lookups that found the
+ * token in force (Bloom false positives, or tokens issued after a revoke-all).
+ */
+@Component
+public class TokenRevocations {
+
+    static final String TOKEN_PREFIX = "jti:";
+    static final String USER_PREFIX = "user:";
+
+    // Revocations by other instances may commit with an earlier revoked_at than our last sync
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(10);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Duration tokenLifetime;
+    private final long windowMillis;
+    private final long expectedPerWindow;
+    private final double falsePositiveRate;
+
+    // Filters keyed by expiry window: a revocation expiring at t goes into window t / windowMillis
+    private final ConcurrentSkipListMap<Long, BloomFilter> filters = new ConcurrentSkipListMap<>();
+    // Exact answers for keys the filters matched, so a revoked user is not looked up on every request
+    private final Cache<String, Optional<Instant>> exactLookups;
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    private final Counter notRevoked;
+    private final Counter lookedUp;
+    private final Counter revoked;
+
+    public TokenRevocations(RevokedTokenRepository revokedTokenRepository,
+                            JwtUtil jwtUtil,
+                            @Value("${jobportal.security.revocation.window:15m}") Duration window,
+                            @Value("${jobportal.security.revocation.expected-per-window:10000}") long expectedPerWindow,
+                            @Value("${jobportal.security.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${jobportal.security.revocation.sync-interval:30s}") Duration syncInterval,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.tokenLifetime = jwtUtil.getTokenLifetime();
+        this.windowMillis = window.toMillis();
+        this.expectedPerWindow = expectedPerWindow;
+        this.falsePositiveRate = falsePositiveRate;
+        this.exactLookups = Caffeine.newBuilder()
+                .maximumSize(expectedPerWindow)
+                .expireAfterWrite(syncInterval)
+                .build();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.notRevoked = checkCounter(registry, "not_revoked");
+        this.lookedUp = checkCounter(registry, "looked_up");
+        this.revoked = checkCounter(registry, "revoked");
+    }
+
+    @PostConstruct
+    void loadRevocations() {
+        sync();
+    }
+
+    /**
+     * @param claims Claims of a token whose signature has been verified.
+     * @return Whether the token was revoked, by its id or by a revoke-all of its user.
+     */
+    public boolean isRevoked(Claims claims) {
+        boolean candidate = false;
+
+        String tokenId = claims.getId();
+        if (tokenId != null && mightContain(TOKEN_PREFIX + tokenId)) {
+            candidate = true;
+            if (lookup(TOKEN_PREFIX + tokenId).isPresent()) {
+                revoked.increment();
+                return true;
+            }
+        }
+
+        Number userId = claims.get(JwtUtil.USER_ID_CLAIM, Number.class);
+        if (userId != null && mightContain(USER_PREFIX + userId.longValue())) {
+            candidate = true;
+            Optional<Instant> revokedAt = lookup(USER_PREFIX + userId.longValue());
+            if (revokedAt.isPresent() && issuedUpTo(claims.getIssuedAt(), revokedAt.get())) {
+                revoked.increment();
+                return true;
+            }
+        }
+
+        (candidate ? lookedUp : notRevoked).increment();
+        return false;
+    }
+
+    /**
+     * Revokes a single token until it expires.
+     */
+    public void revokeToken(Claims claims) {
+        if (claims.getId() == null) {
+            throw new IllegalArgumentException("Token has no id and cannot be revoked on its own");
+        }
+        Number userId = claims.get(JwtUtil.USER_ID_CLAIM, Number.class);
+        record(new RevokedToken(TOKEN_PREFIX + claims.getId(), userId == null ? null : userId.longValue(),
+                Instant.now(), claims.getExpiration().toInstant()));
+    }
+
+    /**
+     * Revokes every token issued to the user so far. Tokens issued later in
+     * the same second are revoked too, as issue times have second precision.
+     */
+    public void revokeAllForUser(Long userId) {
+        Instant now = Instant.now();
+        record(new RevokedToken(USER_PREFIX + userId, userId, now, now.plus(tokenLifetime)));
+    }
+
+    /**
+     * Loads revocations recorded since the last sync (all unexpired ones on
+     * startup), then drops expired filters and rows.
+     */
+    @Scheduled(fixedDelayString = "${jobportal.security.revocation.sync-interval:30s}")
+    public void sync() {
+        Instant now = Instant.now();
+        Instant since = lastSync.equals(Instant.EPOCH) ? Instant.EPOCH : lastSync.minus(SYNC_OVERLAP);
+        for (RevokedToken revocation : revokedTokenRepository.findByRevokedAtGreaterThanEqualAndExpiresAtAfter(since, now)) {
+            add(revocation);
+            exactLookups.invalidate(revocation.getKey());
+        }
+        lastSync = now;
+
+        filters.headMap(now.toEpochMilli() / windowMillis).clear();
+        revokedTokenRepository.deleteExpired(now);
+    }
+
+    private void record(RevokedToken revocation) {
+        revokedTokenRepository.save(revocation);
+        add(revocation);
+        exactLookups.invalidate(revocation.getKey());
+    }
+
+    private void add(RevokedToken revocation) {
+        filters.computeIfAbsent(revocation.getExpiresAt().toEpochMilli() / windowMillis,
+                        window -> new BloomFilter(expectedPerWindow, falsePositiveRate))
+                .add(revocation.getKey());
+    }
+
+    private boolean mightContain(String key) {
+        // Windows that ended before now only hold revocations of expired tokens
+        for (BloomFilter filter : filters.tailMap(System.currentTimeMillis() / windowMillis).values()) {
+            if (filter.mightContain(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Optional<Instant> lookup(String key) {
+        return exactLookups.get(key, k -> revokedTokenRepository.findById(k).map(RevokedToken::getRevokedAt));
+    }
+
+    // Tokens without an issue time predate the revocation support and are treated as revoked
+    private static boolean issuedUpTo(Date issuedAt, Instant revokedAt) {
+        return issuedAt == null || issuedAt.getTime() / 1000 <= revokedAt.getEpochSecond();
+    }
+
+    private static Counter checkCounter(MeterRegistry registry, String result) {
+        return Counter.builder("jobportal.security.revocation.checks")
+                .description("Revocation checks of authenticated requests")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.job_portal.service;
+
+import com.example.job_portal.repository.JobApplicationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the applications of deleted jobs to job_applications_archive in the
+ * background, so deleting a job with many applications is a single row
+ * update in the request.
+ *
+ * Each run moves fixed-size chunks, every chunk in its own short
+ * transaction, until none are left or the per-run chunk limit is reached;
+ * the rest is picked up on the next run. Moved rows are counted as
+ * jobportal.applications.archived.
+ */
+@Component
+public class ApplicationArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationArchiver.class);
+
+    private final JobApplicationRepository jobApplicationRepository;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final Counter archived;
+
+    public ApplicationArchiver(JobApplicationRepository jobApplicationRepository,
+                               @Value("${jobportal.applications.archive.chunk-size:1000}") int chunkSize,
+                               @Value("${jobportal.applications.archive.max-chunks-per-run:50}") int maxChunksPerRun,
+                               ObjectProvider<MeterRegistry> meterRegistry) {
+        this.jobApplicationRepository = jobApplicationRepository;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.archived = Counter.builder("jobportal.applications.archived")
+                .description("Applications of deleted jobs moved to the archive")
+                .register(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    /**
+     * Runs chunks until no applications of deleted jobs are left, or
+     * max-chunks-per-run have been moved.
+     * @return The number of applications moved.
+     */
+    @Scheduled(fixedDelayString = "${jobportal.applications.archive.interval:30s}")
+    public int archive() {
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            int moved = jobApplicationRepository.archiveApplicationsOfDeletedJobs(chunkSize);
+            total += moved;
+            archived.increment(moved);
+            if (moved < chunkSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Archived {} applications of deleted jobs", total);
+        }
+        return total;
+    }
+}
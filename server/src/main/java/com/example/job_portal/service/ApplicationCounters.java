@@ -0,0 +1,207 @@
+package com.example.job_portal.service;
+
+import com.example.job_portal.event.JobChangedEvent;
+import com.example.job_portal.model.Job;
+import com.example.job_portal.model.JobApplicationCounter;
+import com.example.job_portal.repository.JobApplicationCounterRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-job application counts (total and per status) for the job listings.
+ *
+ * The write paths add to striped {@link LongAdder} cells, so concurrent
+ * applies to a popular job do not contend on one counter or one row. The
+ * cells are drained into job_application_counters in one JDBC batch every
+ * flush interval. Reads combine the stored counts, fetched for a whole page
+ * of jobs at once, with the deltas not flushed yet. Deltas of a failed flush
+ * are put back and retried on the next one.
+ *
+ * Cells are kept for every job that had an application since startup and
+ * dropped when the job is deleted, so memory grows with active jobs only.
+ *
+ * On startup the stored counts of jobs that have applications but no counter
+ * row yet, such as those applied to before the counters existed, are counted
+ * from job_applications.
+ */
+@Component
+public class ApplicationCounters implements InitializingBean {
+
+    private static final String SCHEMA_SCRIPT = "db/migration/V8__create_job_application_counters.sql";
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationCounters.class);
+
+    private final JobApplicationCounterRepository counterRepository;
+    private final DataSource dataSource;
+    private final boolean initializeSchema;
+    private final Map<Long, Cells> cells = new ConcurrentHashMap<>();
+
+    public ApplicationCounters(JobApplicationCounterRepository counterRepository, DataSource dataSource,
+                               @Value("${jobportal.applications.counters.initialize-schema:true}") boolean initializeSchema,
+                               ObjectProvider<MeterRegistry> meterRegistry) {
+        this.counterRepository = counterRepository;
+        this.dataSource = dataSource;
+        this.initializeSchema = initializeSchema;
+        meterRegistry.ifAvailable(registry -> Gauge.builder("jobportal.applications.counters.jobs", cells, Map::size)
+                .description("Jobs with in-memory application counters")
+                .register(registry));
+    }
+
+    /**
+     * Creates the counters table if it is missing and seeds the rows missing
+     * from it. Existing rows are left alone, so this is safe on every startup.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        if (initializeSchema) {
+            new ResourceDatabasePopulator(new ClassPathResource(SCHEMA_SCRIPT)).execute(dataSource);
+        }
+    }
+
+    /**
+     * Counts a new application, which starts out pending.
+     */
+    public void applied(Long jobId) {
+        Cells c = cellsFor(jobId);
+        c.total.increment();
+        c.pending.increment();
+    }
+
+    /**
+     * Moves an application from one status bucket to another.
+     */
+    public void statusChanged(Long jobId, String previousStatus, String status) {
+        Cells c = cellsFor(jobId);
+        adder(c, previousStatus).ifPresent(LongAdder::decrement);
+        adder(c, status).ifPresent(LongAdder::increment);
+    }
+
+    /**
+     * Sets the current counts on each job, reading the stored counts of all
+     * of them in one query.
+     */
+    public void attach(Collection<Job> jobs) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        List<Long> ids = jobs.stream().map(Job::getId).toList();
+        Map<Long, JobApplicationCounter> stored = counterRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(JobApplicationCounter::getJobId, Function.identity()));
+        for (Job job : jobs) {
+            // Computed before it is set, as cached jobs are shared between requests
+            job.setApplicationCounts(withPending(job.getId(), stored.get(job.getId())));
+        }
+    }
+
+    /**
+     * Adds the deltas not flushed yet to the stored counts already set on a
+     * job that was just read, like the ones of the job stream.
+     */
+    public void addPending(Job job) {
+        job.setApplicationCounts(withPending(job.getId(), job.getApplicationCounts()));
+    }
+
+    @Scheduled(fixedDelayString = "${jobportal.applications.counters.flush-interval:5s}")
+    public void flush() {
+        List<JobApplicationCounter> deltas = new ArrayList<>();
+        cells.forEach((jobId, c) -> {
+            JobApplicationCounter delta = c.drain(jobId);
+            if (!delta.isZero()) {
+                deltas.add(delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            counterRepository.addDeltas(deltas);
+            log.debug("Flushed application counters of {} jobs", deltas.size());
+        } catch (RuntimeException e) {
+            log.warn("Flushing application counters of {} jobs failed, retrying on the next flush", deltas.size(), e);
+            deltas.forEach(delta -> cellsFor(delta.getJobId()).add(delta));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        // The stored row is deleted together with the job
+        if (event.getType() == JobChangedEvent.Type.DELETED) {
+            cells.remove(event.getJobId());
+        }
+    }
+
+    private JobApplicationCounter withPending(Long jobId, JobApplicationCounter stored) {
+        JobApplicationCounter counts = stored != null ? stored : JobApplicationCounter.zero(jobId);
+        Cells c = cells.get(jobId);
+        return c == null ? counts : counts.plus(c.sum(jobId));
+    }
+
+    private Cells cellsFor(Long jobId) {
+        return cells.computeIfAbsent(jobId, id -> new Cells());
+    }
+
+    // Statuses other than these (none today) are counted in the total only
+    private static Optional<LongAdder> adder(Cells c, String status) {
+        if (status == null) {
+            return Optional.empty();
+        }
+        return switch (status.toUpperCase(Locale.ROOT)) {
+            case "PENDING" -> Optional.of(c.pending);
+            case "ACCEPTED" -> Optional.of(c.accepted);
+            case "REJECTED" -> Optional.of(c.rejected);
+            default -> Optional.empty();
+        };
+    }
+
+    private static final class Cells {
+        final LongAdder total = new LongAdder();
+        final LongAdder pending = new LongAdder();
+        final LongAdder accepted = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+
+        JobApplicationCounter sum(Long jobId) {
+            return new JobApplicationCounter(jobId, total.sum(), pending.sum(), accepted.sum(), rejected.sum());
+        }
+
+        JobApplicationCounter drain(Long jobId) {
+            return new JobApplicationCounter(jobId, total.sumThenReset(), pending.sumThenReset(),
+                    accepted.sumThenReset(), rejected.sumThenReset());
+        }
+
+        void add(JobApplicationCounter delta) {
+            total.add(delta.getTotal());
+            pending.add(delta.getPending());
+            accepted.add(delta.getAccepted());
+            rejected.add(delta.getRejected());
+        }
+    }
+}
@@ -2,76 +2,130 @@ package com.example.job_portal.service;
 
 import com.example.job_portal.model.User;
 import com.example.job_portal.repository.UserRepository;
+import com.example.job_portal.security.AuthenticatedUser;
 import com.example.job_portal.security.JwtUtil;
+import com.example.job_portal.security.PasswordHasher;
+import com.example.job_portal.security.TokenRevocations;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
+@Timed(value = "jobportal.service", description = "Auth service method latency")
 public class AuthService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private JwtUtil jwtUtil;
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private TokenRevocations tokenRevocations;
 
     /**
-     * Registers a new user with an encrypted password.
+     * Registers a new user with an encrypted password. The password is
+     * hashed on the password hashing executor; the user is saved once the
+     * hash is ready, on the application task executor.
      *
      * @param user User object with username and password.
-     * @return Success message.
+     * @return Success message, once the user is saved.
+     * @throws com.example.job_portal.security.PasswordHashingRejectedException if hashing is saturated.
      */
-    public String register(User user) {
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        userRepository.save(user);
-        return "User registered successfully!";
+    public CompletableFuture<String> register(User user) {
+        return passwordHasher.encode(user.getPassword()).thenApply(hash -> {
+            user.setPassword(hash);
+            userRepository.save(user);
+            return "User registered successfully!";
+        });
     }
 
     /**
      * Authenticates a user and generates a JWT token upon successful login.
      *
+     * The password is checked on the password hashing executor, and its
+     * hash is upgraded if it was made with a lower BCrypt strength than the
+     * configured one. Storing the upgraded hash and signing the token run on
+     * the application task executor.
+     *
      * @param loginRequest User credentials (username & password).
      * @return Optional JWT token if authentication is successful.
+     * @throws com.example.job_portal.security.PasswordHashingRejectedException if hashing is saturated.
      */
-    public Optional<String> login(User loginRequest) {
-        System.out.println("Login attempt for username: " + loginRequest.getUsername()); // Debug log
-        
+    public CompletableFuture<Optional<String>> login(User loginRequest) {
+        log.debug("Login attempt for username: {}", loginRequest.getUsername());
+
         Optional<User> user = userRepository.findByUsername(loginRequest.getUsername());
         
         if (!user.isPresent()) {
-            System.out.println("User not found"); // Debug log
-            return Optional.empty();
+            log.debug("Login failed, user not found: {}", loginRequest.getUsername());
+            return CompletableFuture.completedFuture(Optional.empty());
         }
-        
-        if (passwordEncoder.matches(loginRequest.getPassword(), user.get().getPassword())) {
-            String token = jwtUtil.generateToken(user.get().getUsername());
-            System.out.println("Login successful, token generated"); // Debug log
+
+        return passwordHasher.verify(loginRequest.getPassword(), user.get().getPassword()).thenApply(verification -> {
+            if (!verification.matches()) {
+                log.debug("Login failed, password mismatch: {}", loginRequest.getUsername());
+                return Optional.empty();
+            }
+            if (verification.upgradedHash() != null) {
+                userRepository.updatePassword(user.get().getId(), verification.upgradedHash());
+            }
+            String token = jwtUtil.generateToken(user.get());
+            log.debug("Login successful, token generated: {}", loginRequest.getUsername());
             return Optional.of(token);
+        });
+    }
+
+    /**
+     * Revokes the token the request was authenticated with.
+     *
+     * @param token The bearer token, already verified by the authentication filter.
+     * @return Success message or error response for tokens without an id.
+     */
+    public ResponseEntity<?> logout(String token) {
+        Claims claims = jwtUtil.parseClaims(token);
+        if (claims.getId() == null) {
+            return ResponseEntity.badRequest().body("Token cannot be revoked individually, use revoke-all instead.");
         }
-        
-        System.out.println("Password mismatch"); // Debug log
-        return Optional.empty();
+        tokenRevocations.revokeToken(claims);
+        return ResponseEntity.ok("Logged out successfully!");
+    }
+
+    /**
+     * Revokes every token issued to the current user so far, logging out all sessions.
+     *
+     * @param currentUser The authenticated caller.
+     * @return Success message.
+     */
+    public ResponseEntity<?> revokeAllTokens(AuthenticatedUser currentUser) {
+        tokenRevocations.revokeAllForUser(currentUser.id());
+        return ResponseEntity.ok("All sessions have been logged out.");
     }
 
     /**
-     * Retrieves the currently logged-in user's details based on the JWT token.
+     * Retrieves the currently logged-in user's details.
      *
-     * @param token Authorization token.
+     * @param currentUser The authenticated caller.
      * @return User details (excluding password) or error response.
      */
-    public ResponseEntity<?> getUserDetails(String token) {
-        // Extract username from the JWT token
-        String username = jwtUtil.extractUsername(token.replace("Bearer ", ""));
-        Optional<User> userOpt = userRepository.findByUsername(username);
+    public ResponseEntity<?> getUserDetails(AuthenticatedUser currentUser) {
+        // The email is not part of the principal, so this one still reads the row
+        Optional<User> userOpt = userRepository.findById(currentUser.id());
 
         if (userOpt.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
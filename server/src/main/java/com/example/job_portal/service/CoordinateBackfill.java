@@ -0,0 +1,83 @@
+package com.example.job_portal.service;
+
+import com.example.job_portal.event.JobChangedEvent;
+import com.example.job_portal.geo.Gazetteer;
+import com.example.job_portal.geo.GeoPoint;
+import com.example.job_portal.model.Job;
+import com.example.job_portal.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stores the coordinates of jobs saved before they were resolved on create
+ * and update, so the database radius filter finds them as the in-memory
+ * index does. Locations the gazetteer does not know are left without
+ * coordinates and are skipped on later runs by walking the ids in order.
+ *
+ * Coordinates are written with a conditional UPDATE of the two columns
+ * rather than by saving the jobs read, so a job edited or deleted in the
+ * meantime is not overwritten or brought back.
+ */
+@Component
+public class CoordinateBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(CoordinateBackfill.class);
+
+    private final JobRepository jobRepository;
+    private final Gazetteer gazetteer;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CoordinateBackfill(JobRepository jobRepository, Gazetteer gazetteer,
+                              ApplicationEventPublisher eventPublisher) {
+        this.jobRepository = jobRepository;
+        this.gazetteer = gazetteer;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * @return The number of jobs whose coordinates were stored.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int backfill() {
+        int total = 0;
+        long lastId = 0;
+        List<Job> batch;
+        do {
+            batch = jobRepository.findTop500ByIdGreaterThanAndLatitudeIsNullOrderByIdAsc(lastId);
+            for (Job job : batch) {
+                Optional<GeoPoint> point = gazetteer.resolve(job.getLocation());
+                if (point.isPresent() && store(job, point.get())) {
+                    total++;
+                }
+                lastId = job.getId();
+            }
+        } while (!batch.isEmpty());
+        if (total > 0) {
+            log.info("Stored coordinates of {} jobs", total);
+        }
+        return total;
+    }
+
+    // Publishes the change for indexes and caches only if this call stored the coordinates
+    private boolean store(Job read, GeoPoint point) {
+        if (jobRepository.setCoordinatesIfMissing(read.getId(), read.getLocation(),
+                point.latitude(), point.longitude()) == 0) {
+            return false;
+        }
+        // Re-read, as other fields may have changed since the batch was read
+        jobRepository.findById(read.getId()).ifPresent(job -> {
+            Job previous = new Job(job);
+            previous.setLatitude(null);
+            previous.setLongitude(null);
+            eventPublisher.publishEvent(JobChangedEvent.updated(previous, job));
+        });
+        return true;
+    }
+}
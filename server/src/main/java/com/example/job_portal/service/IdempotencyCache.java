@@ -0,0 +1,96 @@
+package com.example.job_portal.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the response to each request sent with an Idempotency-Key, so
+ * a client retrying after a timeout or dropped connection gets the original
+ * response instead of running the operation again.
+ *
+ * Keys are scoped to the user. Concurrent requests with the same key wait
+ * for the first one and share its response; a key reused for a different
+ * request is rejected with 422. Responses are kept in memory for the TTL
+ * (a restart forgets them); failures that threw are not remembered.
+ *
+ * The first request puts an incomplete future under the key and runs the
+ * operation outside the cache, so a slow operation never holds a cache lock.
+ */
+@Component
+public class IdempotencyCache {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final AsyncCache<Key, StoredResponse> responses;
+
+    public IdempotencyCache(@Value("${jobportal.idempotency.maximum-size:100000}") long maximumSize,
+                            @Value("${jobportal.idempotency.ttl:24h}") Duration ttl) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+    }
+
+    /**
+     * Runs the operation, unless this user already sent the key, in which
+     * case the response of that first run is returned.
+     *
+     * @param request Identifies the operation and its arguments, e.g. "apply:42".
+     */
+    public ResponseEntity<?> execute(Long userId, String idempotencyKey, String request,
+                                     Supplier<ResponseEntity<?>> operation) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().body(HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters.");
+        }
+
+        StoredResponse stored = storedResponse(new Key(userId, idempotencyKey), request, operation);
+        if (!stored.request().equals(request)) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(HEADER + " was already used for a different request.");
+        }
+        return stored.response();
+    }
+
+    private StoredResponse storedResponse(Key key, String request, Supplier<ResponseEntity<?>> operation) {
+        ConcurrentMap<Key, CompletableFuture<StoredResponse>> futures = responses.asMap();
+        while (true) {
+            CompletableFuture<StoredResponse> placeholder = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> existing = futures.putIfAbsent(key, placeholder);
+            if (existing == null) {
+                try {
+                    StoredResponse stored = new StoredResponse(request, operation.get());
+                    placeholder.complete(stored);
+                    return stored;
+                } catch (Throwable e) {
+                    // Failed futures are dropped by the cache, so a retry runs the operation again
+                    placeholder.completeExceptionally(e);
+                    throw e;
+                }
+            }
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                // The first request failed; this one runs the operation itself
+                futures.remove(key, existing);
+            }
+        }
+    }
+
+    private record Key(Long userId, String idempotencyKey) {
+    }
+
+    private record StoredResponse(String request, ResponseEntity<?> response) {
+    }
+}
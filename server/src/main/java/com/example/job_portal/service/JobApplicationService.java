@@ -1,180 +1,248 @@
 package com.example.job_portal.service;
 
-import com.example.job_portal.model.Job;
-import com.example.job_portal.model.JobApplication;
-import com.example.job_portal.model.User;
+import com.example.job_portal.dto.ApplicationStatusOutcomeDTO;
+import com.example.job_portal.dto.ApplicationStatusUpdateDTO;
+import com.example.job_portal.dto.ApplicationSummaryDTO;
+import com.example.job_portal.dto.JobApplicantDTO;
+import com.example.job_portal.model.Role;
+import com.example.job_portal.repository.ApplicationOwnership;
+import com.example.job_portal.repository.ApplyOutcome;
 import com.example.job_portal.repository.JobApplicationRepository;
 import com.example.job_portal.repository.JobRepository;
+import com.example.job_portal.repository.StatusChange;
 import com.example.job_portal.repository.UserRepository;
-import com.example.job_portal.security.JwtUtil;
+import com.example.job_portal.security.AuthenticatedUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Optional;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 
 
 
 @Service
-public class JobApplicationService {
+@Timed(value = "jobportal.service", description = "Job application service method latency")
+public class JobApplicationService implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JobApplicationService.class);
+
+    public static final String HAS_NEXT_HEADER = "X-Has-Next";
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_BULK_UPDATE = 1000;
+
+    private static final List<String> VALID_STATUSES = List.of("Accepted", "Rejected", "Pending");
 
     private final JobApplicationRepository jobApplicationRepository;
     private final JobRepository jobRepository;
     private final UserRepository userRepository;
-    private final JwtUtil jwtUtil;
+    private final IdempotencyCache idempotencyCache;
+    private final ApplicationCounters applicationCounters;
 
     @Autowired
-    public JobApplicationService(JobApplicationRepository jobApplicationRepository, JobRepository jobRepository, UserRepository userRepository, JwtUtil jwtUtil) {
+    public JobApplicationService(JobApplicationRepository jobApplicationRepository, JobRepository jobRepository, UserRepository userRepository,
+                                 IdempotencyCache idempotencyCache, ApplicationCounters applicationCounters) {
         this.jobApplicationRepository = jobApplicationRepository;
         this.jobRepository = jobRepository;
         this.userRepository = userRepository;
-        this.jwtUtil = jwtUtil;
+        this.idempotencyCache = idempotencyCache;
+        this.applicationCounters = applicationCounters;
     }
 
     /**
-     * Apply for a job (Job Seekers only).
+     * Refuses to start without the unique constraint applies rely on: without
+     * it, every apply would fail on its ON CONFLICT clause.
      */
-    public ResponseEntity<?> applyForJob(String token, Long jobId) {
-        String username = jwtUtil.extractUsername(token.replace("Bearer ", ""));
-        Optional<User> userOpt = userRepository.findByUsername(username);
-        Optional<Job> jobOpt = jobRepository.findById(jobId);
-
-        if (userOpt.isEmpty() || jobOpt.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body("User or Job not found.");
+    @Override
+    public void afterPropertiesSet() {
+        if (!jobApplicationRepository.hasApplicantJobConstraint()) {
+            throw new IllegalStateException("Constraint uk_job_applications_applicant_job is missing on job_applications;"
+                + " apply db/migration/V6__unique_job_application.sql");
         }
+    }
 
-        User user = userOpt.get();
-        Job job = jobOpt.get();
+    /**
+     * Apply for a job (Job Seekers only).
+     * @param idempotencyKey Optional client key; a retry with the same key gets the first response.
+     */
+    public ResponseEntity<?> applyForJob(AuthenticatedUser currentUser, Long jobId, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return applyForJob(currentUser, jobId);
+        }
+        return idempotencyCache.execute(currentUser.id(), idempotencyKey, "apply:" + jobId,
+                () -> applyForJob(currentUser, jobId));
+    }
 
+    private ResponseEntity<?> applyForJob(AuthenticatedUser currentUser, Long jobId) {
         // Check if user is a JOB_SEEKER
-        if (!user.getRole().name().equals("JOB_SEEKER")) {
+        if (!currentUser.hasRole(Role.JOB_SEEKER)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                 .body("Only job seekers can apply for jobs.");
         }
 
-        // Check if user has already applied
-        boolean hasApplied = jobApplicationRepository.findByApplicantAndJob(user, job).isPresent();
-        if (hasApplied) {
+        // One round trip: checks the job, inserts unless already applied, by ids only
+        ApplyOutcome outcome = jobApplicationRepository.applyIfAbsent(currentUser.id(), jobId);
+        if (!outcome.getJobExists()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body("User or Job not found.");
+        }
+        if (!outcome.getInserted()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body("You have already applied for this job.");
         }
 
-        JobApplication application = new JobApplication();
-        application.setApplicant(user);
-        application.setJob(job);
-        application.setStatus("PENDING");
-
-        jobApplicationRepository.save(application);
+        applicationCounters.applied(jobId);
         return ResponseEntity.ok("Application submitted successfully.");
     }
 
-    public ResponseEntity<?> getUserApplications(String token) {
-        String username = jwtUtil.extractUsername(token.replace("Bearer ", ""));
-        Optional<User> userOpt = userRepository.findByUsername(username);
-    
-        if (userOpt.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
-        }
-    
-        User user = userOpt.get();
-        List<JobApplication> applications = jobApplicationRepository.findByApplicant(user);
-        
-        // Transform to match frontend expectations
-        List<Map<String, Object>> response = applications.stream().map(application -> {
-            Map<String, Object> data = new HashMap<>();
-            data.put("id", application.getId());
-            data.put("job_id", application.getJob().getId());
-            data.put("applicant_id", application.getApplicant().getId());
-            data.put("status", application.getStatus());
-            return data;
-        }).collect(Collectors.toList());
-
-        System.out.println("User applications for " + username + ": " + response); // Debug log
-        return ResponseEntity.ok(response);
-    }
-
-    public ResponseEntity<?> getJobApplications(String token, Long jobId) {
-        String username = jwtUtil.extractUsername(token.replace("Bearer ", ""));
-        Optional<User> recruiterOpt = userRepository.findByUsername(username);
+    /**
+     * Lists the caller's applications, newest first, one page at a time.
+     *
+     * @param currentUser The authenticated caller.
+     * @param status Optional status to filter by, ignoring case.
+     * @param page Zero-based page number.
+     * @param size Page size, capped at {@value #MAX_PAGE_SIZE}.
+     * @return The page as a JSON array, with the {@value #HAS_NEXT_HEADER} header.
+     */
+    public ResponseEntity<?> getUserApplications(AuthenticatedUser currentUser, String status, int page, int size) {
+        Slice<ApplicationSummaryDTO> applications = jobApplicationRepository.findSummariesByApplicantId(
+            currentUser.id(), blankToNull(status), pageRequest(page, size));
 
-        if (recruiterOpt.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
-        }
+        log.debug("Found {} applications for user {}", applications.getNumberOfElements(), currentUser.username());
+        return pageResponse(applications);
+    }
 
-        User recruiter = recruiterOpt.get();
-        
-        // ✅ Fetch the job
-        Optional<Job> jobOpt = jobRepository.findById(jobId);
-        if (jobOpt.isEmpty()) {
+    /**
+     * Lists the applications to one of the caller's jobs in the order they
+     * came in, one page at a time.
+     *
+     * @param currentUser The authenticated caller, who must have posted the job.
+     * @param jobId The job.
+     * @param status Optional status to filter by, ignoring case.
+     * @param page Zero-based page number.
+     * @param size Page size, capped at {@value #MAX_PAGE_SIZE}.
+     * @return The page as a JSON array, with the {@value #HAS_NEXT_HEADER} header, or an error response.
+     */
+    public ResponseEntity<?> getJobApplications(AuthenticatedUser currentUser, Long jobId, String status, int page, int size) {
+        Optional<Long> recruiterId = jobRepository.findRecruiterIdById(jobId);
+        if (recruiterId.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Job not found.");
         }
 
-        Job job = jobOpt.get();
-
         // ✅ Ensure only the job owner (recruiter) can access applications
-        if (!job.getRecruiter().getUsername().equals(recruiter.getUsername())) {
+        if (!recruiterId.get().equals(currentUser.id())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can only view applications for jobs you posted.");
         }
 
-        // ✅ Fetch applications for the job
-        List<JobApplication> applications = jobApplicationRepository.findByJob(job);
+        Slice<JobApplicantDTO> applications = jobApplicationRepository.findApplicantsByJobId(
+            jobId, blankToNull(status), pageRequest(page, size));
+        return pageResponse(applications);
+    }
 
-        // ✅ Transform response to return structured data
-        List<Map<String, Object>> response = applications.stream().map(application -> {
-            Map<String, Object> data = new HashMap<>();
-            data.put("applicationId", application.getId());
-            data.put("applicantUsername", application.getApplicant().getUsername());
-            data.put("status", application.getStatus());
-            return data;
-        }).toList();
+    private static PageRequest pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+    }
 
-        return ResponseEntity.ok(response);
+    // No COUNT query: the extra row Slice reads tells the client whether to ask for another page
+    private static ResponseEntity<List<?>> pageResponse(Slice<?> slice) {
+        return ResponseEntity.ok()
+            .header(HAS_NEXT_HEADER, String.valueOf(slice.hasNext()))
+            .body(slice.getContent());
     }
 
-    public ResponseEntity<?> updateApplicationStatus(String token, Long applicationId, String newStatus) {
-        String username = jwtUtil.extractUsername(token.replace("Bearer ", ""));
-        Optional<User> recruiterOpt = userRepository.findByUsername(username);
-    
-        if (recruiterOpt.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    public ResponseEntity<?> updateApplicationStatus(AuthenticatedUser currentUser, Long applicationId, String newStatus) {
+        // ✅ Ensure the new status is valid
+        if (!VALID_STATUSES.contains(newStatus)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid status. Allowed values: Accepted, Rejected, Pending.");
         }
-    
-        User recruiter = recruiterOpt.get();
-        
-        // ✅ Fetch the application
-        Optional<JobApplication> applicationOpt = jobApplicationRepository.findById(applicationId);
-        if (applicationOpt.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Application not found.");
+
+        ApplicationStatusOutcomeDTO.Outcome outcome = updateStatuses(currentUser, List.of(applicationId), newStatus).get(0).getOutcome();
+        return switch (outcome) {
+            case NOT_FOUND -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("Application not found.");
+            case FORBIDDEN -> ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can only update applications for jobs you posted.");
+            case UPDATED, UNCHANGED -> ResponseEntity.ok("Application status updated successfully.");
+        };
+    }
+
+    /**
+     * Gives many applications the same status at once, for recruiters
+     * screening candidates. Ownership of the whole set is read in one query
+     * and the change is a single UPDATE, however many ids there are.
+     *
+     * @param currentUser The authenticated caller.
+     * @param request The application ids (at most {@value #MAX_BULK_UPDATE}) and the target status.
+     * @return One outcome per distinct id, in request order, or an error response.
+     */
+    public ResponseEntity<?> updateApplicationStatuses(AuthenticatedUser currentUser, ApplicationStatusUpdateDTO request) {
+        if (!VALID_STATUSES.contains(request.getStatus())) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid status. Allowed values: Accepted, Rejected, Pending.");
         }
-    
-        JobApplication application = applicationOpt.get();
-        Job job = application.getJob();
-    
-        // ✅ Ensure only the job owner (recruiter) can update the status
-        if (!job.getRecruiter().getUsername().equals(recruiter.getUsername())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can only update applications for jobs you posted.");
+        List<Long> ids = request.getApplicationIds();
+        if (ids == null || ids.isEmpty() || ids.contains(null)) {
+            return ResponseEntity.badRequest().body("applicationIds must be a non-empty list of ids.");
         }
-    
-        // ✅ Ensure the new status is valid
-        List<String> validStatuses = List.of("Accepted", "Rejected", "Pending");
-        if (!validStatuses.contains(newStatus)) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid status. Allowed values: Accepted, Rejected, Pending.");
+        if (ids.size() > MAX_BULK_UPDATE) {
+            return ResponseEntity.badRequest().body("At most " + MAX_BULK_UPDATE + " applications can be updated at once.");
         }
-    
-        // ✅ Update status
-        application.setStatus(newStatus);
-        jobApplicationRepository.save(application);
-    
-        return ResponseEntity.ok("Application status updated successfully.");
+
+        return ResponseEntity.ok(updateStatuses(currentUser, ids, request.getStatus()));
     }
-    
 
-    
+    private List<ApplicationStatusOutcomeDTO> updateStatuses(AuthenticatedUser currentUser, Collection<Long> requestedIds, String newStatus) {
+        Set<Long> ids = new LinkedHashSet<>(requestedIds);
+        Map<Long, ApplicationOwnership> found = new HashMap<>();
+        Set<Long> owned = new HashSet<>();
+        for (ApplicationOwnership row : jobApplicationRepository.findOwnershipByIdIn(ids)) {
+            found.put(row.getId(), row);
+            if (currentUser.id().equals(row.getRecruiterId()) && !newStatus.equals(row.getStatus())) {
+                owned.add(row.getId());
+            }
+        }
+
+        Set<Long> updated = new HashSet<>();
+        if (!owned.isEmpty()) {
+            for (StatusChange change : jobApplicationRepository.updateStatusForRecruiter(currentUser.id(), owned, newStatus)) {
+                updated.add(change.getId());
+                applicationCounters.statusChanged(change.getJobId(), change.getPreviousStatus(), newStatus);
+            }
+        }
+
+        List<ApplicationStatusOutcomeDTO> outcomes = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ApplicationOwnership row = found.get(id);
+            ApplicationStatusOutcomeDTO.Outcome outcome;
+            if (row == null) {
+                outcome = ApplicationStatusOutcomeDTO.Outcome.NOT_FOUND;
+            } else if (!currentUser.id().equals(row.getRecruiterId())) {
+                outcome = ApplicationStatusOutcomeDTO.Outcome.FORBIDDEN;
+            } else if (updated.contains(id)) {
+                outcome = ApplicationStatusOutcomeDTO.Outcome.UPDATED;
+            } else {
+                outcome = ApplicationStatusOutcomeDTO.Outcome.UNCHANGED;
+            }
+            outcomes.add(new ApplicationStatusOutcomeDTO(id, outcome));
+        }
+        log.debug("Status {} applied to {} of {} applications", newStatus, updated.size(), ids.size());
+        return outcomes;
+    }
 }
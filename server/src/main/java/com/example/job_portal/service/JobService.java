@@ -1,89 +1,121 @@
 package com.example.job_portal.service;
 
+import com.example.job_portal.dto.JobCursorPageDTO;
+import com.example.job_portal.dto.JobFacetsDTO;
 import com.example.job_portal.dto.JobSearchDTO;
+import com.example.job_portal.dto.SuggestionDTO;
+import com.example.job_portal.event.JobChangedEvent;
+import com.example.job_portal.geo.Gazetteer;
+import com.example.job_portal.geo.GeoPoint;
 import com.example.job_portal.model.Job;
-import com.example.job_portal.model.User;
+import com.example.job_portal.model.Role;
 import com.example.job_portal.model.JobType;
 import com.example.job_portal.model.JobStatus;
+import com.example.job_portal.repository.JobApplicationCounterRepository;
 import com.example.job_portal.repository.JobRepository;
 import com.example.job_portal.repository.UserRepository;
-import com.example.job_portal.repository.JobApplicationRepository;
-import com.example.job_portal.security.JwtUtil;
+import com.example.job_portal.repository.JobSpecifications;
+import com.example.job_portal.repository.JobStreamRepository;
+import com.example.job_portal.search.JobSearchCache;
+import com.example.job_portal.search.JobSearchEngine;
+import com.example.job_portal.search.KeysetCursor;
+import com.example.job_portal.search.SuggestionIndex;
+import com.example.job_portal.security.AuthenticatedUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
+@Timed(value = "jobportal.service", description = "Job service method latency")
 public class JobService {
 
+    private static final Logger log = LoggerFactory.getLogger(JobService.class);
+
     private final JobRepository jobRepository;
+    private final JobStreamRepository jobStreamRepository;
     private final UserRepository userRepository;
-    private final JobApplicationRepository jobApplicationRepository;
-    private final JwtUtil jwtUtil;
+    private final JobSearchEngine jobSearchEngine;
+    private final JobSearchCache jobSearchCache;
+    private final SuggestionIndex suggestionIndex;
+    private final Gazetteer gazetteer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JobApplicationCounterRepository jobApplicationCounterRepository;
+    private final ApplicationCounters applicationCounters;
 
     @Autowired
-    public JobService(JobRepository jobRepository, UserRepository userRepository, JobApplicationRepository jobApplicationRepository, JwtUtil jwtUtil) {
+    public JobService(JobRepository jobRepository, JobStreamRepository jobStreamRepository, UserRepository userRepository,
+                      JobSearchEngine jobSearchEngine, JobSearchCache jobSearchCache,
+                      SuggestionIndex suggestionIndex, Gazetteer gazetteer, ApplicationEventPublisher eventPublisher,
+                      JobApplicationCounterRepository jobApplicationCounterRepository, ApplicationCounters applicationCounters) {
         this.jobRepository = jobRepository;
+        this.jobStreamRepository = jobStreamRepository;
         this.userRepository = userRepository;
-        this.jobApplicationRepository = jobApplicationRepository;
-        this.jwtUtil = jwtUtil;
+        this.jobSearchEngine = jobSearchEngine;
+        this.jobSearchCache = jobSearchCache;
+        this.suggestionIndex = suggestionIndex;
+        this.gazetteer = gazetteer;
+        this.eventPublisher = eventPublisher;
+        this.jobApplicationCounterRepository = jobApplicationCounterRepository;
+        this.applicationCounters = applicationCounters;
     }
 
     /**
-     * Retrieves all available job listings.
-     * @return List of all jobs.
+     * Streams job listings ordered by id without loading them all into memory.
+     * @param page Zero-based page number; requires a limit.
+     * @param limit Page size, or null for all jobs.
+     * @param consumer Receives each job as it is read, with its application counts.
      */
-    public List<Job> getAllJobs() {
-        return jobRepository.findAll();
+    public void streamJobs(Integer page, Integer limit, Consumer<Job> consumer) {
+        long offset = page != null && limit != null ? (long) page * limit : 0;
+        jobStreamRepository.streamJobs(offset, limit, job -> {
+            applicationCounters.addPending(job);
+            consumer.accept(job);
+        });
     }
 
     /**
      * Retrieves a job by its ID.
      * @param id Job ID.
-     * @return Job details or 404 if not found.
+     * @return Job details with application counts, or 404 if not found.
      */
     public ResponseEntity<?> getJobById(Long id) {
         Optional<Job> jobOpt = jobRepository.findById(id);
         if (jobOpt.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Job not found");
         }
+        applicationCounters.attach(List.of(jobOpt.get()));
         return ResponseEntity.ok(jobOpt.get());
     }
 
     /**
      * Creates a new job listing (Only for RECRUITER users).
-     * @param token Authorization token.
+     * @param currentUser The authenticated caller.
      * @param job Job details.
      * @return Created job or error message.
      */
-    public ResponseEntity<?> createJob(String token, Job job) {
-        String username = jwtUtil.extractUsername(token.replace("Bearer ", ""));
-        Optional<User> user = userRepository.findByUsername(username);
-
-        System.out.println("Creating job for user: " + username);
-        
-        if (user.isEmpty()) {
-            System.out.println("User not found in database: " + username);
-            return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                .body("User not found: " + username);
-        }
+    public ResponseEntity<?> createJob(AuthenticatedUser currentUser, Job job) {
+        String username = currentUser.username();
+
+        log.debug("Creating job for user: {}", username);
 
-        System.out.println("User role from database: " + user.get().getRole().name());
-        
-        if (!user.get().getRole().name().equals("RECRUITER")) {
-            System.out.println("User does not have RECRUITER role: " + user.get().getRole().name());
+        if (!currentUser.hasRole(Role.RECRUITER)) {
+            log.debug("User {} does not have RECRUITER role: {}", username, currentUser.role());
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                .body("User " + username + " does not have RECRUITER role. Current role: " + user.get().getRole().name());
+                .body("User " + username + " does not have RECRUITER role. Current role: " + currentUser.role().name());
         }
 
         // Set default values if null
@@ -94,39 +126,41 @@ public class JobService {
             job.setStatus(JobStatus.OPEN);
         }
 
-        job.setRecruiter(user.get());
+        // Reference only, the recruiter row is not loaded
+        job.setRecruiter(userRepository.getReferenceById(currentUser.id()));
 
         // Ensure salary fields are correctly assigned
         if (job.getMinSalary() == null) job.setMinSalary(BigDecimal.ZERO);
         if (job.getMaxSalary() == null) job.setMaxSalary(BigDecimal.ZERO);
 
+        resolveCoordinates(job);
         jobRepository.save(job);
+        eventPublisher.publishEvent(JobChangedEvent.created(job));
         return ResponseEntity.ok("{\"message\": \"Job created successfully\", \"job\": " + job + "}");
     }
 
     /**
      * Updates a job listing (Only the recruiter can update).
      * @param id Job ID.
-     * @param token Authorization token.
+     * @param currentUser The authenticated caller.
      * @param jobDetails Updated job details.
      * @return Updated job or error message.
      */
-    public ResponseEntity<?> updateJob(Long id, String token, Job jobDetails) {
-        String username = jwtUtil.extractUsername(token.replace("Bearer ", ""));
-        Optional<User> userOpt = userRepository.findByUsername(username);
+    public ResponseEntity<?> updateJob(Long id, AuthenticatedUser currentUser, Job jobDetails) {
         Optional<Job> jobOpt = jobRepository.findById(id);
 
-        if (userOpt.isEmpty() || jobOpt.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Job or user not found.");
+        if (jobOpt.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Job not found.");
         }
 
         Job job = jobOpt.get();
-        User user = userOpt.get();
 
-        if (!job.getRecruiter().getUsername().equals(user.getUsername())) {
+        if (!job.getRecruiter().getId().equals(currentUser.id())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can only update your own job listings.");
         }
 
+        Job previous = new Job(job);
+
         // Update all fields
         if (jobDetails.getTitle() != null) job.setTitle(jobDetails.getTitle());
         if (jobDetails.getCompany() != null) job.setCompany(jobDetails.getCompany());
@@ -137,39 +171,42 @@ public class JobService {
         if (jobDetails.getMaxSalary() != null) job.setMaxSalary(jobDetails.getMaxSalary());
         if (jobDetails.getJobType() != null) job.setJobType(jobDetails.getJobType());
         if (jobDetails.getStatus() != null) job.setStatus(jobDetails.getStatus());
+        resolveCoordinates(job);
 
         Job updatedJob = jobRepository.save(job);
+        eventPublisher.publishEvent(JobChangedEvent.updated(previous, updatedJob));
         return ResponseEntity.ok(updatedJob);
     }
 
     /**
-     * Deletes a job listing (Only the recruiter can delete).
+     * Deletes a job listing (Only the recruiter can delete). The job is only
+     * marked deleted, so this returns at once however many applications it
+     * has; ApplicationArchiver moves them to the archive afterwards.
      * @param id Job ID.
-     * @param token Authorization token.
+     * @param currentUser The authenticated caller.
      * @return Success or error message.
      */
     @Transactional
-    public ResponseEntity<String> deleteJob(Long id, String token) {
-        String username = jwtUtil.extractUsername(token.replace("Bearer ", ""));
-        Optional<User> userOpt = userRepository.findByUsername(username);
+    public ResponseEntity<String> deleteJob(Long id, AuthenticatedUser currentUser) {
         Optional<Job> jobOpt = jobRepository.findById(id);
 
-        if (userOpt.isEmpty() || jobOpt.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Job or user not found.");
+        if (jobOpt.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Job not found.");
         }
 
         Job job = jobOpt.get();
-        User user = userOpt.get();
 
-        if (!job.getRecruiter().getUsername().equals(user.getUsername())) {
+        if (!job.getRecruiter().getId().equals(currentUser.id())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can only delete your own job listings.");
         }
 
         try {
-            // Delete all associated job applications first
-            jobApplicationRepository.deleteByJob(job);
-            // Then delete the job
-            jobRepository.delete(job);
+            // Soft delete: one row update, the applications are archived in the background
+            if (jobRepository.softDelete(job.getId()) == 0) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Job not found.");
+            }
+            jobApplicationCounterRepository.deleteByJobId(job.getId());
+            eventPublisher.publishEvent(JobChangedEvent.deleted(job));
             return ResponseEntity.ok("Job deleted successfully.");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -178,38 +215,94 @@ public class JobService {
     }
 
     /**
-     * Search jobs with filters and pagination
+     * Search jobs with filters and pagination. Results are served from the
+     * search cache when the same normalized search was answered recently.
+     * Application counts are attached afterwards, so cached pages show current ones.
      * @param searchDTO Search parameters
      * @return Page of jobs matching the search criteria
      */
     public Page<Job> searchJobs(JobSearchDTO searchDTO) {
-        // Create Pageable object for pagination and sorting
-        Sort sort = Sort.by(
-            searchDTO.getSortDirection().equalsIgnoreCase("ASC") ? 
-            Sort.Direction.ASC : Sort.Direction.DESC,
-            searchDTO.getSortBy()
-        );
-        
-        Pageable pageable = PageRequest.of(
-            searchDTO.getPage(),
-            searchDTO.getSize(),
-            sort
-        );
+        JobSearchDTO normalized = JobSearchCache.normalize(searchDTO);
+        Page<Job> page = jobSearchCache.get(normalized, () -> jobSearchEngine.search(normalized));
+        applicationCounters.attach(page.getContent());
+        return page;
+    }
+
+    /**
+     * Search jobs with keyset (cursor) pagination. Pages are read with a
+     * "(sortBy, id) after cursor" condition and no COUNT query, so deep pages
+     * cost the same as the first one. Jobs without a value for sortBy come
+     * last in either direction.
+     * @param searchDTO Search parameters; cursor is the previous page's nextCursor
+     * @return Slice of jobs with the cursor for the next page
+     * @throws IllegalArgumentException if the sort field or cursor is invalid
+     */
+    public JobCursorPageDTO scrollJobs(JobSearchDTO searchDTO) {
+        String sortBy = searchDTO.getSortBy();
+        if (!KeysetCursor.isSortable(sortBy)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sortBy);
+        }
+
+        Sort.Direction direction = searchDTO.getSortDirection().equalsIgnoreCase("ASC") ?
+            Sort.Direction.ASC : Sort.Direction.DESC;
+        Specification<Job> spec = JobSpecifications.matching(searchDTO)
+            .and(JobSpecifications.keysetOrder(sortBy, direction));
+        if (searchDTO.getNear() != null) {
+            spec = spec.and(JobSpecifications.near(gazetteer.resolve(searchDTO.getNear()), searchDTO.getRadiusKm()));
+        }
+        if (searchDTO.getCursor() != null) {
+            KeysetCursor.Position position = KeysetCursor.decode(searchDTO.getCursor(), sortBy, direction);
+            spec = spec.and(JobSpecifications.after(sortBy, direction, position.value(), position.id()));
+        }
 
-        // Convert salary values to BigDecimal if present
-        BigDecimal minSalary = searchDTO.getMinSalary() != null ? 
-            BigDecimal.valueOf(searchDTO.getMinSalary()) : null;
-        BigDecimal maxSalary = searchDTO.getMaxSalary() != null ? 
-            BigDecimal.valueOf(searchDTO.getMaxSalary()) : null;
-
-        // Perform the search
-        return jobRepository.searchJobs(
-            searchDTO.getKeyword(),
-            searchDTO.getLocation(),
-            searchDTO.getJobType(),
-            minSalary,
-            maxSalary,
-            pageable
+        // One row more than the page tells whether there is a next one
+        List<Job> rows = jobRepository.findBy(
+            spec,
+            query -> query.limit(searchDTO.getSize() + 1).all()
         );
+        boolean hasNext = rows.size() > searchDTO.getSize();
+        List<Job> content = hasNext ? rows.subList(0, searchDTO.getSize()) : rows;
+
+        applicationCounters.attach(content);
+        String nextCursor = hasNext && !content.isEmpty() ?
+            KeysetCursor.encode(sortBy, direction, content.get(content.size() - 1)) : null;
+
+        // Counted by the search engine: from the index with the memory engine, with COUNT otherwise
+        Long estimatedTotal = searchDTO.isEstimateTotal() ? jobSearchEngine.count(searchDTO) : null;
+
+        return new JobCursorPageDTO(content, searchDTO.getSize(), hasNext, nextCursor, estimatedTotal);
+    }
+
+    /**
+     * Computes facet counts (job type, salary band, top locations) for the open
+     * jobs matching the search filters. The search engine computes them: from
+     * the index bitsets with the memory engine, with aggregate queries otherwise.
+     * @param searchDTO Search parameters; paging and sorting are ignored
+     * @return Facet counts
+     */
+    public JobFacetsDTO facetJobs(JobSearchDTO searchDTO) {
+        return jobSearchEngine.facets(searchDTO, searchDTO.getFacetLimit());
+    }
+
+    /**
+     * Typeahead completions for job titles, companies and locations, served
+     * from the in-memory suggestion tries.
+     * @param prefix Text typed so far
+     * @param field Field to complete, or null for all fields
+     * @param limit Maximum number of suggestions
+     * @return Suggestions ordered by job count
+     */
+    public List<SuggestionDTO> suggest(String prefix, SuggestionIndex.Field field, int limit) {
+        return suggestionIndex.suggest(prefix, field, limit);
+    }
+
+    /**
+     * Stores the coordinates of the job's location so radius searches do not
+     * have to resolve it again. Unknown locations clear the coordinates.
+     */
+    private void resolveCoordinates(Job job) {
+        Optional<GeoPoint> point = gazetteer.resolve(job.getLocation());
+        job.setLatitude(point.map(GeoPoint::latitude).orElse(null));
+        job.setLongitude(point.map(GeoPoint::longitude).orElse(null));
     }
 }
@@ -0,0 +1,2 @@
+-- Serves the latitude range of radius searches
+CREATE INDEX IF NOT EXISTS idx_jobs_coordinates ON jobs (latitude, longitude);
@@ -0,0 +1,9 @@
+-- Revoked tokens ("jti:<id>") and revoke-all cutoffs ("user:<id>"), purged once expired
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    revocation_key VARCHAR(64) PRIMARY KEY,
+    user_id BIGINT,
+    revoked_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
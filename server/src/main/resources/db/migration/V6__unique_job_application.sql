@@ -0,0 +1,14 @@
+-- One application per applicant and job; keep the earliest of any duplicates
+DELETE FROM job_applications a
+USING job_applications b
+WHERE a.applicant_id = b.applicant_id
+  AND a.job_id = b.job_id
+  AND a.id > b.id;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_job_applications_applicant_job') THEN
+        ALTER TABLE job_applications
+        ADD CONSTRAINT uk_job_applications_applicant_job UNIQUE (applicant_id, job_id);
+    END IF;
+END $$;
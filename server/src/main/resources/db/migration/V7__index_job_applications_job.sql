@@ -0,0 +1,2 @@
+-- Serves the paginated applicant list of a job, ordered by application id
+CREATE INDEX IF NOT EXISTS idx_job_applications_job ON job_applications (job_id, id);
@@ -0,0 +1,19 @@
+-- Per-job application counts, maintained by adding deltas on the write paths
+CREATE TABLE IF NOT EXISTS job_application_counters (
+    job_id BIGINT PRIMARY KEY,
+    total BIGINT NOT NULL,
+    pending BIGINT NOT NULL,
+    accepted BIGINT NOT NULL,
+    rejected BIGINT NOT NULL
+);
+
+-- Starting values for the applications that already exist
+INSERT INTO job_application_counters (job_id, total, pending, accepted, rejected)
+SELECT job_id,
+       COUNT(*),
+       COUNT(*) FILTER (WHERE UPPER(status) = 'PENDING'),
+       COUNT(*) FILTER (WHERE UPPER(status) = 'ACCEPTED'),
+       COUNT(*) FILTER (WHERE UPPER(status) = 'REJECTED')
+FROM job_applications
+GROUP BY job_id
+ON CONFLICT (job_id) DO NOTHING;
@@ -0,0 +1,16 @@
+-- Deleted jobs are marked rather than removed; their applications are archived in the background
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP WITH TIME ZONE;
+
+-- Lets the archiver find deleted jobs without scanning the live ones
+CREATE INDEX IF NOT EXISTS idx_jobs_deleted ON jobs (id) WHERE deleted_at IS NOT NULL;
+
+CREATE TABLE IF NOT EXISTS job_applications_archive (
+    id BIGINT PRIMARY KEY,
+    job_id BIGINT NOT NULL,
+    applicant_id BIGINT NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_job_applications_archive_job ON job_applications_archive (job_id);
+CREATE INDEX IF NOT EXISTS idx_job_applications_archive_applicant ON job_applications_archive (applicant_id);
@@ -0,0 +1,59 @@
+package com.example.job_portal.config;
+
+import com.example.job_portal.model.Role;
+import com.example.job_portal.model.User;
+import com.example.job_portal.repository.UserRepository;
+import com.example.job_portal.security.JwtUtil;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+// Metrics export, Prometheus included, is off in tests unless asked for
+@AutoConfigureObservability
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+class ActuatorSecurityTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Test
+	void onlyHealthIsPublic() throws Exception {
+		mockMvc.perform(get("/actuator/health"))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().is4xxClientError());
+		mockMvc.perform(get("/actuator/metrics"))
+				.andExpect(status().is4xxClientError());
+	}
+
+	@Test
+	void prometheusIsScrapedWithAToken() throws Exception {
+		User user = new User();
+		user.setUsername("metrics-reader");
+		user.setEmail("metrics-reader@example.com");
+		user.setPassword("secret");
+		user.setRole(Role.RECRUITER);
+		userRepository.save(user);
+
+		mockMvc.perform(get("/actuator/prometheus")
+						.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(user)))
+				.andExpect(status().isOk());
+	}
+}
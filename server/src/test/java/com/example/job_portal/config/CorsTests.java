@@ -0,0 +1,74 @@
+package com.example.job_portal.config;
+
+import com.example.job_portal.model.Role;
+import com.example.job_portal.model.User;
+import com.example.job_portal.repository.UserRepository;
+import com.example.job_portal.security.JwtUtil;
+import com.example.job_portal.service.IdempotencyCache;
+import com.example.job_portal.service.JobApplicationService;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.containsStringIgnoringCase;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The client runs on another origin, so it only sees response headers that
+ * the CORS configuration exposes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+class CorsTests {
+
+	private static final String CLIENT_ORIGIN = "http://localhost:5173";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Test
+	void applicationListExposesHasNextHeader() throws Exception {
+		User seeker = new User();
+		seeker.setUsername("cors-seeker");
+		seeker.setEmail("cors-seeker@example.com");
+		seeker.setPassword("secret");
+		seeker.setRole(Role.JOB_SEEKER);
+		userRepository.save(seeker);
+
+		mockMvc.perform(get("/api/applications")
+						.header(HttpHeaders.ORIGIN, CLIENT_ORIGIN)
+						.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(seeker)))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, CLIENT_ORIGIN))
+				.andExpect(header().exists(JobApplicationService.HAS_NEXT_HEADER))
+				.andExpect(header().string(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS,
+						containsString(JobApplicationService.HAS_NEXT_HEADER)));
+	}
+
+	@Test
+	void applyPreflightAllowsIdempotencyKey() throws Exception {
+		mockMvc.perform(options("/api/applications/1")
+						.header(HttpHeaders.ORIGIN, CLIENT_ORIGIN)
+						.header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "POST")
+						.header(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, "authorization, idempotency-key"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS,
+						containsStringIgnoringCase(IdempotencyCache.HEADER)));
+	}
+}
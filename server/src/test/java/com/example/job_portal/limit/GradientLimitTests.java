@@ -0,0 +1,127 @@
+package com.example.job_portal.limit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Windows of length 0 that close on their first sample, so each call of
+ * {@link #window} is one limit update with the given latency, at full use
+ * of the limit.
+ */
+class GradientLimitTests {
+
+	private static final long FAST = 10_000_000L;
+	private static final long SLOW = 40_000_000L;
+
+	// Windows until the first probe, and between probes
+	private static final int FIRST_PROBE = 4;
+	private static final int PROBE_INTERVAL = 240;
+
+	private final GradientLimit limit = new GradientLimit(20, 1, 200, 1.5, 0.2, 0, 1);
+
+	@Test
+	void admitsUpToTheLimit() {
+		for (int i = 0; i < 20; i++) {
+			assertThat(limit.tryAcquire()).isTrue();
+		}
+		assertThat(limit.tryAcquire()).isFalse();
+
+		limit.release(FAST, false);
+		assertThat(limit.getInflight()).isEqualTo(19);
+		assertThat(limit.tryAcquire()).isTrue();
+	}
+
+	@Test
+	void growsWhileLatencyStaysAtTheBaseline() {
+		int before = limit.getLimit();
+		for (int i = 1; i < FIRST_PROBE; i++) {
+			window(FAST);
+		}
+
+		assertThat(limit.getLimit()).isGreaterThan(before);
+	}
+
+	@Test
+	void probeCutsTheLimitForOneWindowThenRestoresIt() {
+		for (int i = 1; i < FIRST_PROBE; i++) {
+			window(FAST);
+		}
+		int beforeProbe = limit.getLimit();
+
+		window(FAST);
+		assertThat(limit.getLimit()).isEqualTo(beforeProbe / 4);
+
+		window(FAST);
+		assertThat(limit.getLimit()).isEqualTo(beforeProbe);
+	}
+
+	@Test
+	void shrinksWhenLatencyRisesAndGrowsBackWhenItFalls() {
+		passFirstProbe(FAST);
+		int baseline = limit.getLimit();
+
+		for (int i = 0; i < 10; i++) {
+			window(SLOW);
+		}
+		int queueing = limit.getLimit();
+		assertThat(queueing).isLessThan(baseline);
+
+		for (int i = 0; i < 10; i++) {
+			window(FAST);
+		}
+		assertThat(limit.getLimit()).isGreaterThan(queueing);
+	}
+
+	@Test
+	void recoversAfterAProbeOnceTheServiceIsSlowerForGood() {
+		passFirstProbe(FAST);
+		int baseline = limit.getLimit();
+
+		// Slower without queueing: against the old baseline the limit is held down
+		for (int i = 0; i < PROBE_INTERVAL - 1; i++) {
+			window(SLOW);
+		}
+		int heldDown = limit.getLimit();
+		assertThat(heldDown).isLessThan(baseline / 2);
+
+		// The probe measures the new latency without queueing and it becomes the baseline
+		window(SLOW);
+		window(SLOW);
+		for (int i = 0; i < 20; i++) {
+			window(SLOW);
+		}
+		assertThat(limit.getLimit()).isGreaterThan(heldDown * 2);
+	}
+
+	@Test
+	void doesNotGrowWhileTheLimitIsNotUsed() {
+		passFirstProbe(FAST);
+		int before = limit.getLimit();
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(limit.tryAcquire()).isTrue();
+			limit.release(FAST, true);
+		}
+
+		assertThat(limit.getLimit()).isEqualTo(before);
+	}
+
+	private void passFirstProbe(long rttNanos) {
+		for (int i = 0; i <= FIRST_PROBE; i++) {
+			window(rttNanos);
+		}
+	}
+
+	// Fills the limit, then releases everything; only the last release is sampled and closes the window
+	private void window(long rttNanos) {
+		int acquired = 0;
+		while (limit.tryAcquire()) {
+			acquired++;
+		}
+		for (int i = 1; i < acquired; i++) {
+			limit.release(rttNanos, false);
+		}
+		limit.release(rttNanos, true);
+	}
+}
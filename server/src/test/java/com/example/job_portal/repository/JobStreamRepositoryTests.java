@@ -0,0 +1,63 @@
+package com.example.job_portal.repository;
+
+import com.example.job_portal.model.Job;
+import com.example.job_portal.model.Role;
+import com.example.job_portal.model.User;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(JobStreamRepository.class)
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+class JobStreamRepositoryTests {
+
+	@Autowired
+	private JobStreamRepository jobStreamRepository;
+
+	@Autowired
+	private JobRepository jobRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void streamedJobsKeepTheirCoordinates() {
+		User recruiter = new User();
+		recruiter.setUsername("recruiter");
+		recruiter.setEmail("recruiter@example.com");
+		recruiter.setPassword("secret");
+		recruiter.setRole(Role.RECRUITER);
+		userRepository.save(recruiter);
+
+		Job located = job("Java Developer", recruiter);
+		located.setLatitude(52.52);
+		located.setLongitude(13.405);
+		jobRepository.save(located);
+		jobRepository.saveAndFlush(job("Remote Engineer", recruiter));
+
+		List<Job> streamed = new ArrayList<>();
+		jobStreamRepository.streamJobs(0, null, streamed::add);
+
+		assertThat(streamed).hasSize(2);
+		assertThat(streamed.get(0).getLatitude()).isEqualTo(52.52);
+		assertThat(streamed.get(0).getLongitude()).isEqualTo(13.405);
+		// Not 0,0 for a job without coordinates
+		assertThat(streamed.get(1).getLatitude()).isNull();
+		assertThat(streamed.get(1).getLongitude()).isNull();
+	}
+
+	private static Job job(String title, User recruiter) {
+		return new Job(title, "Backend work", "Acme", "Berlin", "Teamwork",
+				BigDecimal.valueOf(50000), BigDecimal.valueOf(60000), null, null, recruiter);
+	}
+}
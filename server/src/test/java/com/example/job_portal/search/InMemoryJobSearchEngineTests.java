@@ -0,0 +1,271 @@
+package com.example.job_portal.search;
+
+import com.example.job_portal.dto.JobFacetsDTO;
+import com.example.job_portal.dto.JobSearchDTO;
+import com.example.job_portal.geo.Gazetteer;
+import com.example.job_portal.model.Job;
+import com.example.job_portal.model.JobType;
+import com.example.job_portal.model.Role;
+import com.example.job_portal.model.User;
+import com.example.job_portal.repository.JobRepository;
+import com.example.job_portal.repository.UserRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The in-memory engine has to return what the database engines return for
+ * the same search, as it is reached through the same (normalized) request.
+ */
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+class InMemoryJobSearchEngineTests {
+
+	@Autowired
+	private JobRepository jobRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private final Gazetteer gazetteer = new Gazetteer();
+
+	private InMemoryJobSearchEngine memoryEngine;
+	private DatabaseJobSearchEngine databaseEngine;
+	private PostgresFullTextJobSearchEngine fullTextEngine;
+
+	@BeforeEach
+	void setUp() {
+		User recruiter = new User();
+		recruiter.setUsername("recruiter");
+		recruiter.setEmail("recruiter@example.com");
+		recruiter.setPassword("secret");
+		recruiter.setRole(Role.RECRUITER);
+		userRepository.save(recruiter);
+
+		save("Java Developer", "Build Spring services", "Berlin", 50000, JobType.FULL_TIME, recruiter);
+		save("Python Engineer", "Data pipelines", "Berlin", 60000, JobType.PART_TIME, recruiter);
+		save("Senior Java Engineer", "Lead the backend team", "Munich", 80000, JobType.FULL_TIME, recruiter);
+		save("Go Developer", "Networking services", "Hamburg", 70000, JobType.CONTRACT, recruiter);
+		save("Office Manager", "Coordinate the office", "Berlin", 40000, JobType.PART_TIME, recruiter);
+		jobRepository.flush();
+
+		JobIndex jobIndex = new JobIndex(jobRepository, gazetteer);
+		jobIndex.rebuild();
+		memoryEngine = new InMemoryJobSearchEngine(jobIndex);
+		SqlJobFacets sqlJobFacets = new SqlJobFacets(entityManager, dataSource);
+		databaseEngine = new DatabaseJobSearchEngine(jobRepository, gazetteer, sqlJobFacets);
+		fullTextEngine = new PostgresFullTextJobSearchEngine(jobRepository, gazetteer, sqlJobFacets, dataSource, 0.1, 30, true);
+		fullTextEngine.afterPropertiesSet();
+	}
+
+	@Test
+	void orQueryMatchesFullTextEngine() {
+		// Passed through the search cache normalization, as JobService does
+		JobSearchDTO searchDTO = JobSearchCache.normalize(search("Java OR Python"));
+
+		assertThat(titles(memoryEngine, searchDTO))
+				.containsExactlyInAnyOrder("Java Developer", "Python Engineer", "Senior Java Engineer")
+				.containsExactlyInAnyOrderElementsOf(titles(fullTextEngine, searchDTO));
+	}
+
+	@Test
+	void keywordSearchMatchesDatabaseEngine() {
+		for (String keyword : new String[] {"Java", "services", "Engineer", "Kotlin"}) {
+			assertSameMatches(search(keyword));
+		}
+	}
+
+	@Test
+	void keywordsMatchWordPrefixesNotSubstrings() {
+		// Prefixes of a word match in both engines
+		assertSameMatches(search("dev"));
+		assertThat(titles(memoryEngine, JobSearchCache.normalize(search("dev"))))
+				.containsExactlyInAnyOrder("Java Developer", "Go Developer");
+
+		// The LIKE query also matches inside a word, the index does not
+		JobSearchDTO inside = JobSearchCache.normalize(search("veloper"));
+		assertThat(titles(databaseEngine, inside)).containsExactlyInAnyOrder("Java Developer", "Go Developer");
+		assertThat(titles(memoryEngine, inside)).isEmpty();
+	}
+
+	@Test
+	void keywordsMatchCompanyInMemoryOnly() {
+		JobSearchDTO company = JobSearchCache.normalize(search("Acme"));
+
+		assertThat(titles(memoryEngine, company)).hasSize(5);
+		assertThat(titles(databaseEngine, company)).isEmpty();
+	}
+
+	@Test
+	void locationFilterMatchesDatabaseEngine() {
+		for (String location : new String[] {"Berlin", "munich", "Paris"}) {
+			JobSearchDTO searchDTO = new JobSearchDTO();
+			searchDTO.setLocation(location);
+			assertSameMatches(searchDTO);
+		}
+	}
+
+	@Test
+	void salaryFiltersMatchDatabaseEngine() {
+		JobSearchDTO atLeast = new JobSearchDTO();
+		atLeast.setMinSalary(60000.0);
+		assertSameMatches(atLeast);
+
+		JobSearchDTO atMost = new JobSearchDTO();
+		atMost.setMaxSalary(70000.0);
+		assertSameMatches(atMost);
+
+		// Both bounds are inclusive
+		JobSearchDTO between = new JobSearchDTO();
+		between.setMinSalary(50000.0);
+		between.setMaxSalary(80000.0);
+		assertThat(titles(memoryEngine, JobSearchCache.normalize(between)))
+				.containsExactlyInAnyOrder("Java Developer", "Python Engineer", "Go Developer");
+		assertSameMatches(between);
+	}
+
+	@Test
+	void jobTypeFilterMatchesDatabaseEngine() {
+		for (JobType jobType : JobType.values()) {
+			JobSearchDTO searchDTO = search("Engineer");
+			searchDTO.setJobType(jobType);
+			assertSameMatches(searchDTO);
+		}
+	}
+
+	@Test
+	void sortedPagesMatchDatabaseEngine() {
+		// Sort fields with distinct values only, as the database engine does not break ties by id
+		for (String sortBy : new String[] {"title", "minSalary", "maxSalary"}) {
+			for (String direction : new String[] {"ASC", "DESC"}) {
+				for (int page = 0; page < 3; page++) {
+					JobSearchDTO searchDTO = new JobSearchDTO();
+					searchDTO.setSortBy(sortBy);
+					searchDTO.setSortDirection(direction);
+					searchDTO.setPage(page);
+					searchDTO.setSize(2);
+					JobSearchDTO normalized = JobSearchCache.normalize(searchDTO);
+
+					Page<Job> memoryPage = memoryEngine.search(normalized);
+					Page<Job> databasePage = databaseEngine.search(normalized);
+					assertThat(memoryPage.getContent().stream().map(Job::getTitle).toList())
+							.as("%s %s page %s", sortBy, direction, page)
+							.containsExactlyElementsOf(databasePage.getContent().stream().map(Job::getTitle).toList());
+					assertThat(memoryPage.getTotalElements()).isEqualTo(databasePage.getTotalElements());
+				}
+			}
+		}
+	}
+
+	@Test
+	void radiusSearchMatchesDatabaseEngine() {
+		// Hamburg is about 255 km from Berlin, Munich about 505 km
+		for (double radiusKm : new double[] {10, 300, 600}) {
+			JobSearchDTO searchDTO = new JobSearchDTO();
+			searchDTO.setNear("Berlin");
+			searchDTO.setRadiusKm(radiusKm);
+
+			assertThat(titles(memoryEngine, searchDTO))
+					.as("within %s km", radiusKm)
+					.containsExactlyInAnyOrderElementsOf(titles(databaseEngine, searchDTO));
+		}
+
+		JobSearchDTO searchDTO = new JobSearchDTO();
+		searchDTO.setNear("52.52,13.405");
+		searchDTO.setRadiusKm(300);
+		assertThat(titles(databaseEngine, searchDTO))
+				.containsExactlyInAnyOrder("Java Developer", "Python Engineer", "Go Developer", "Office Manager");
+	}
+
+	@Test
+	void unknownPlaceMatchesNothing() {
+		JobSearchDTO searchDTO = new JobSearchDTO();
+		searchDTO.setNear("Atlantis");
+
+		assertThat(titles(memoryEngine, searchDTO)).isEmpty();
+		assertThat(titles(databaseEngine, searchDTO)).isEmpty();
+	}
+
+	@Test
+	void countsAndFacetsMatchDatabaseEngines() {
+		JobSearchDTO all = new JobSearchDTO();
+		JobSearchDTO berlin = new JobSearchDTO();
+		berlin.setLocation("berlin");
+		JobSearchDTO paid = search("Engineer");
+		paid.setMinSalary(60000.0);
+		JobSearchDTO near = new JobSearchDTO();
+		near.setNear("Berlin");
+		near.setRadiusKm(300);
+
+		for (JobSearchDTO searchDTO : List.of(all, berlin, paid, near, search("Java"), search("Kotlin"))) {
+			JobSearchDTO normalized = JobSearchCache.normalize(searchDTO);
+			assertSameFacets(normalized, databaseEngine);
+			assertSameFacets(normalized, fullTextEngine);
+		}
+
+		JobFacetsDTO facets = databaseEngine.facets(JobSearchCache.normalize(all), 2);
+		assertThat(facets.getTotal()).isEqualTo(5);
+		assertThat(facets.getJobTypes()).containsEntry("FULL_TIME", 2L).containsEntry("PART_TIME", 2L);
+		assertThat(facets.getSalaryBands()).containsEntry("FROM_30K_TO_60K", 2L).containsEntry("FROM_60K_TO_100K", 3L);
+		assertThat(facets.getLocations()).containsExactly(Map.entry("Berlin", 3L), Map.entry("Hamburg", 1L));
+	}
+
+	private void assertSameFacets(JobSearchDTO searchDTO, JobSearchEngine engine) {
+		JobFacetsDTO expected = memoryEngine.facets(searchDTO, 10);
+		JobFacetsDTO actual = engine.facets(searchDTO, 10);
+		String description = engine.getClass().getSimpleName() + " " + searchDTO;
+		assertThat(engine.count(searchDTO)).as(description).isEqualTo(memoryEngine.count(searchDTO));
+		assertThat(actual.getTotal()).as(description).isEqualTo(expected.getTotal());
+		assertThat(actual.getJobTypes()).as(description).containsExactlyEntriesOf(expected.getJobTypes());
+		assertThat(actual.getSalaryBands()).as(description).containsExactlyEntriesOf(expected.getSalaryBands());
+		assertThat(actual.getLocations()).as(description).containsExactlyEntriesOf(expected.getLocations());
+	}
+
+	private void assertSameMatches(JobSearchDTO searchDTO) {
+		// Passed through the search cache normalization, as JobService does
+		JobSearchDTO normalized = JobSearchCache.normalize(searchDTO);
+		assertThat(titles(memoryEngine, normalized))
+				.as(normalized.toString())
+				.containsExactlyInAnyOrderElementsOf(titles(databaseEngine, normalized));
+	}
+
+	private static List<String> titles(JobSearchEngine engine, JobSearchDTO searchDTO) {
+		return engine.search(searchDTO).getContent().stream().map(Job::getTitle).toList();
+	}
+
+	private void save(String title, String description, String location, int salary, JobType jobType, User recruiter) {
+		Job job = new Job(title, description, "Acme", location, "Teamwork",
+				BigDecimal.valueOf(salary), BigDecimal.valueOf(salary + 10000), null, null, recruiter);
+		job.setJobType(jobType);
+		// Stored as JobService does on create
+		gazetteer.resolve(location).ifPresent(point -> {
+			job.setLatitude(point.latitude());
+			job.setLongitude(point.longitude());
+		});
+		jobRepository.save(job);
+	}
+
+	private static JobSearchDTO search(String keyword) {
+		JobSearchDTO searchDTO = new JobSearchDTO();
+		searchDTO.setKeyword(keyword);
+		return searchDTO;
+	}
+}
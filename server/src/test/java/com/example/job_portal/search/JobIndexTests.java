@@ -0,0 +1,65 @@
+package com.example.job_portal.search;
+
+import com.example.job_portal.dto.JobSearchDTO;
+import com.example.job_portal.event.JobChangedEvent;
+import com.example.job_portal.geo.Gazetteer;
+import com.example.job_portal.model.Job;
+import com.example.job_portal.repository.JobRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobIndexTests {
+
+	private final JobRepository jobRepository = mock(JobRepository.class);
+	private final JobIndex jobIndex = new JobIndex(jobRepository, new Gazetteer());
+
+	@Test
+	void changesMadeWhileLoadingAreApplied() {
+		Job java = job(1L, "Java Developer");
+		Job renamed = new Job(java);
+		renamed.setTitle("Kotlin Developer");
+		Job python = job(2L, "Python Engineer");
+
+		// The snapshot is read before these commits reach the listener
+		when(jobRepository.findAll()).thenAnswer(invocation -> {
+			jobIndex.onJobChanged(JobChangedEvent.created(python));
+			jobIndex.onJobChanged(JobChangedEvent.updated(java, renamed));
+			return List.of(java);
+		});
+		jobIndex.load();
+
+		assertThat(count("python")).isEqualTo(1);
+		assertThat(count("kotlin")).isEqualTo(1);
+		assertThat(count("java")).isZero();
+	}
+
+	@Test
+	void changesAfterLoadingAreAppliedDirectly() {
+		Job java = job(1L, "Java Developer");
+		when(jobRepository.findAll()).thenReturn(List.of(java));
+		jobIndex.load();
+
+		jobIndex.onJobChanged(JobChangedEvent.deleted(java));
+
+		assertThat(count("java")).isZero();
+	}
+
+	private int count(String keyword) {
+		JobSearchDTO searchDTO = new JobSearchDTO();
+		searchDTO.setKeyword(keyword);
+		return jobIndex.match(searchDTO).cardinality();
+	}
+
+	private static Job job(Long id, String title) {
+		Job job = new Job(title, "Backend work", "Acme", "Berlin", "Teamwork",
+				BigDecimal.valueOf(50000), BigDecimal.valueOf(60000), null, null, null);
+		job.setId(id);
+		return job;
+	}
+}
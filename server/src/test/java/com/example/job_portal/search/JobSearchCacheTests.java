@@ -0,0 +1,93 @@
+package com.example.job_portal.search;
+
+import com.example.job_portal.dto.JobSearchDTO;
+import com.example.job_portal.event.JobChangedEvent;
+import com.example.job_portal.model.Job;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobSearchCacheTests {
+
+	private final JobSearchCache cache = new JobSearchCache(true, 100, Duration.ofMinutes(1),
+			new DefaultListableBeanFactory().getBeanProvider(MeterRegistry.class));
+
+	@Test
+	void cachesLoadedPage() {
+		AtomicInteger loads = new AtomicInteger();
+		JobSearchDTO searchDTO = JobSearchCache.normalize(search("java"));
+
+		cache.get(searchDTO, () -> page(loads));
+		cache.get(searchDTO, () -> page(loads));
+
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	void pageLoadedDuringAnInvalidationIsNotCached() {
+		AtomicInteger loads = new AtomicInteger();
+		JobSearchDTO searchDTO = JobSearchCache.normalize(search("java"));
+
+		cache.get(searchDTO, () -> {
+			cache.onJobChanged(JobChangedEvent.created(job("Java Developer")));
+			return page(loads);
+		});
+		cache.get(searchDTO, () -> page(loads));
+
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void matchingChangeInvalidatesOtherSearchesStay() {
+		AtomicInteger javaLoads = new AtomicInteger();
+		AtomicInteger pythonLoads = new AtomicInteger();
+		JobSearchDTO java = JobSearchCache.normalize(search("java"));
+		JobSearchDTO python = JobSearchCache.normalize(search("python"));
+		cache.get(java, () -> page(javaLoads));
+		cache.get(python, () -> page(pythonLoads));
+
+		cache.onJobChanged(JobChangedEvent.created(job("Java Developer")));
+		cache.get(java, () -> page(javaLoads));
+		cache.get(python, () -> page(pythonLoads));
+
+		assertThat(javaLoads).hasValue(2);
+		assertThat(pythonLoads).hasValue(1);
+	}
+
+	@Test
+	void indexIsUpdatedBeforeTheCacheIsInvalidated() throws Exception {
+		assertThat(listenerOrder(JobIndex.class)).isLessThan(listenerOrder(JobSearchCache.class));
+	}
+
+	private static int listenerOrder(Class<?> listener) throws NoSuchMethodException {
+		return listener.getMethod("onJobChanged", JobChangedEvent.class).getAnnotation(Order.class).value();
+	}
+
+	private static Page<Job> page(AtomicInteger loads) {
+		loads.incrementAndGet();
+		return new PageImpl<>(List.of());
+	}
+
+	private static Job job(String title) {
+		Job job = new Job(title, "Build services", "Acme", "Berlin", "Teamwork",
+				BigDecimal.valueOf(50000), BigDecimal.valueOf(60000), null, null, null);
+		job.setId(1L);
+		return job;
+	}
+
+	private static JobSearchDTO search(String keyword) {
+		JobSearchDTO searchDTO = new JobSearchDTO();
+		searchDTO.setKeyword(keyword);
+		return searchDTO;
+	}
+}
@@ -0,0 +1,103 @@
+package com.example.job_portal.search;
+
+import com.example.job_portal.model.Job;
+import com.example.job_portal.model.Role;
+import com.example.job_portal.model.User;
+import com.example.job_portal.repository.JobRepository;
+import com.example.job_portal.repository.JobSpecifications;
+import com.example.job_portal.repository.UserRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pages through jobs the way JobService.scrollJobs does, with some jobs
+ * lacking the sort value, and compares the pages with a single sorted read.
+ */
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+class KeysetCursorTests {
+
+	@Autowired
+	private JobRepository jobRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@BeforeEach
+	void setUp() {
+		User recruiter = new User();
+		recruiter.setUsername("recruiter");
+		recruiter.setEmail("recruiter@example.com");
+		recruiter.setPassword("secret");
+		recruiter.setRole(Role.RECRUITER);
+		userRepository.save(recruiter);
+
+		Integer[] minSalaries = {50000, null, 40000, 60000, null, 50000, null, 70000, 40000};
+		for (int i = 0; i < minSalaries.length; i++) {
+			BigDecimal minSalary = minSalaries[i] != null ? BigDecimal.valueOf(minSalaries[i]) : null;
+			jobRepository.save(new Job("Developer", "Build things", i == 0 ? "" : "Acme", "Berlin", "Teamwork",
+					minSalary, null, null, null, recruiter));
+		}
+		jobRepository.flush();
+	}
+
+	@Test
+	void pagesThroughNullSortValuesAscending() {
+		assertPagesMatchSortedRead(Sort.Direction.ASC);
+	}
+
+	@Test
+	void pagesThroughNullSortValuesDescending() {
+		assertPagesMatchSortedRead(Sort.Direction.DESC);
+	}
+
+	@Test
+	void nullSortValueIsNotAnEmptyString() {
+		Job withoutSalary = jobRepository.findAll().stream().filter(job -> job.getMinSalary() == null).findFirst().orElseThrow();
+		Job emptyCompany = jobRepository.findAll().stream().filter(job -> job.getCompany().isEmpty()).findFirst().orElseThrow();
+
+		assertThat(KeysetCursor.decode(KeysetCursor.encode("minSalary", Sort.Direction.ASC, withoutSalary),
+				"minSalary", Sort.Direction.ASC).value()).isNull();
+		assertThat(KeysetCursor.decode(KeysetCursor.encode("company", Sort.Direction.ASC, emptyCompany),
+				"company", Sort.Direction.ASC).value()).isEqualTo("");
+	}
+
+	private void assertPagesMatchSortedRead(Sort.Direction direction) {
+		// PostgreSQL puts nulls first when descending, so the expected order is spelled out here
+		Comparator<Job> bySalary = Comparator.comparing(Job::getMinSalary, Comparator.nullsLast(
+				direction.isAscending() ? Comparator.<BigDecimal>naturalOrder() : Comparator.<BigDecimal>reverseOrder()));
+		Comparator<Job> byId = direction.isAscending() ? Comparator.comparing(Job::getId) : Comparator.comparing(Job::getId).reversed();
+		List<Long> expected = jobRepository.findAll().stream().sorted(bySalary.thenComparing(byId)).map(Job::getId).toList();
+
+		List<Long> paged = new ArrayList<>();
+		String cursor = null;
+		do {
+			Specification<Job> spec = JobSpecifications.keysetOrder("minSalary", direction);
+			if (cursor != null) {
+				KeysetCursor.Position position = KeysetCursor.decode(cursor, "minSalary", direction);
+				spec = spec.and(JobSpecifications.after("minSalary", direction, position.value(), position.id()));
+			}
+			List<Job> page = jobRepository.findBy(spec, query -> query.limit(2).all());
+			page.forEach(job -> paged.add(job.getId()));
+			cursor = page.size() == 2 ? KeysetCursor.encode("minSalary", direction, page.get(1)) : null;
+		} while (cursor != null);
+
+		assertThat(paged).containsExactlyElementsOf(expected);
+		assertThat(expected.subList(expected.size() - 3, expected.size()))
+				.as("jobs without a minimum salary come last")
+				.allMatch(id -> jobRepository.findById(id).orElseThrow().getMinSalary() == null);
+	}
+}
@@ -0,0 +1,101 @@
+package com.example.job_portal.search;
+
+import com.example.job_portal.dto.JobSearchDTO;
+import com.example.job_portal.geo.Gazetteer;
+import com.example.job_portal.model.Job;
+import com.example.job_portal.model.Role;
+import com.example.job_portal.model.User;
+import com.example.job_portal.repository.JobRepository;
+import com.example.job_portal.repository.UserRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+class PostgresFullTextJobSearchEngineTests {
+
+	@Autowired
+	private JobRepository jobRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private PostgresFullTextJobSearchEngine engine;
+
+	@BeforeEach
+	void setUp() {
+		engine = new PostgresFullTextJobSearchEngine(jobRepository, new Gazetteer(),
+				new SqlJobFacets(entityManager, dataSource), dataSource, 0.1, 30, true);
+		engine.afterPropertiesSet();
+
+		User recruiter = new User();
+		recruiter.setUsername("recruiter");
+		recruiter.setEmail("recruiter@example.com");
+		recruiter.setPassword("secret");
+		recruiter.setRole(Role.RECRUITER);
+		userRepository.save(recruiter);
+
+		save("Java Developer", "Build Spring services", "Java", 0, recruiter);
+		save("Office Manager", "Coordinate the office; some Java exposure helps", "Organisation", 0, recruiter);
+		save("Senior Java Developer", "Lead the Java backend team", "Java, Spring", 60, recruiter);
+		save("Frontend Engineer", "React and TypeScript", "React", 0, recruiter);
+		jobRepository.flush();
+	}
+
+	@Test
+	void ranksTitleMatchesAboveBodyMatches() {
+		Page<Job> page = engine.search(search("java developer"));
+
+		assertThat(page.getTotalElements()).isEqualTo(2);
+		assertThat(page.getContent()).extracting(Job::getTitle)
+				.containsExactly("Java Developer", "Senior Java Developer");
+	}
+
+	@Test
+	void matchesStemmedTermsAndAppliesFilters() {
+		JobSearchDTO searchDTO = search("developers");
+		searchDTO.setLocation("berlin");
+
+		assertThat(engine.search(searchDTO).getContent()).extracting(Job::getTitle)
+				.containsExactlyInAnyOrder("Java Developer", "Senior Java Developer");
+
+		searchDTO.setLocation("paris");
+		assertThat(engine.search(searchDTO).getContent()).isEmpty();
+	}
+
+	@Test
+	void fallsBackToRegularSearchWithoutKeyword() {
+		assertThat(engine.search(search(null)).getTotalElements()).isEqualTo(4);
+	}
+
+	private void save(String title, String description, String requirements, int ageInDays, User recruiter) {
+		Job job = new Job(title, description, "Acme", "Berlin", requirements,
+				BigDecimal.valueOf(1000), BigDecimal.valueOf(2000), null, null, recruiter);
+		job.setPostedDate(LocalDateTime.now().minusDays(ageInDays));
+		jobRepository.save(job);
+	}
+
+	private static JobSearchDTO search(String keyword) {
+		JobSearchDTO searchDTO = new JobSearchDTO();
+		searchDTO.setKeyword(keyword);
+		return searchDTO;
+	}
+}
@@ -0,0 +1,80 @@
+package com.example.job_portal.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SalaryIndexTests {
+
+	@Test
+	void bulkBuildMatchesIncrementalInserts() {
+		Random random = new Random(42);
+		List<BigDecimal> minSalaries = new ArrayList<>();
+		List<BigDecimal> maxSalaries = new ArrayList<>();
+		SalaryIndex incremental = new SalaryIndex();
+		for (int ordinal = 0; ordinal < 5000; ordinal++) {
+			// Few distinct values, so most entries share their salary with others
+			BigDecimal min = random.nextInt(10) == 0 ? null : BigDecimal.valueOf(random.nextInt(50) * 1000, 2);
+			BigDecimal max = random.nextInt(10) == 0 ? null : BigDecimal.valueOf(random.nextInt(50) * 1500, 2);
+			minSalaries.add(min);
+			maxSalaries.add(max);
+			incremental.add(ordinal, min, max);
+		}
+
+		SalaryIndex built = new SalaryIndex();
+		built.build(minSalaries, maxSalaries);
+		assertSameAnswers(built, incremental);
+
+		// Single updates keep working on top of a bulk build
+		for (int ordinal = 0; ordinal < 5000; ordinal += 7) {
+			built.remove(ordinal, minSalaries.get(ordinal), maxSalaries.get(ordinal));
+			incremental.remove(ordinal, minSalaries.get(ordinal), maxSalaries.get(ordinal));
+		}
+		built.add(5000, BigDecimal.valueOf(123.45), BigDecimal.valueOf(678.9));
+		incremental.add(5000, BigDecimal.valueOf(123.45), BigDecimal.valueOf(678.9));
+		assertSameAnswers(built, incremental);
+	}
+
+	@Test
+	void filtersByInclusiveBounds() {
+		SalaryIndex index = new SalaryIndex();
+		index.build(List.of(new BigDecimal("1000.00"), new BigDecimal("2000.50")),
+				Arrays.asList(null, new BigDecimal("3000.00")));
+
+		assertThat(index.minSalaryAtLeast(1000)).isEqualTo(bits(0, 1));
+		assertThat(index.minSalaryAtLeast(2000.5)).isEqualTo(bits(1));
+		assertThat(index.maxSalaryAtMost(3000)).isEqualTo(bits(1));
+		assertThat(index.maxSalaryAtMost(2999.99)).isEqualTo(bits());
+	}
+
+	@Test
+	void buildsAnEmptyIndexThatAcceptsInserts() {
+		SalaryIndex index = new SalaryIndex();
+		index.build(List.of(), List.of());
+		index.add(0, BigDecimal.TEN, BigDecimal.TEN);
+
+		assertThat(index.minSalaryAtLeast(10)).isEqualTo(bits(0));
+	}
+
+	private static void assertSameAnswers(SalaryIndex actual, SalaryIndex expected) {
+		for (double amount = -10; amount <= 800; amount += 2.5) {
+			assertThat(actual.minSalaryAtLeast(amount)).isEqualTo(expected.minSalaryAtLeast(amount));
+			assertThat(actual.maxSalaryAtMost(amount)).isEqualTo(expected.maxSalaryAtMost(amount));
+		}
+	}
+
+	private static BitSet bits(int... ordinals) {
+		BitSet bits = new BitSet();
+		for (int ordinal : ordinals) {
+			bits.set(ordinal);
+		}
+		return bits;
+	}
+}
@@ -0,0 +1,161 @@
+package com.example.job_portal.search;
+
+import com.example.job_portal.dto.SuggestionDTO;
+import com.example.job_portal.event.JobChangedEvent;
+import com.example.job_portal.model.Job;
+import com.example.job_portal.repository.JobRepository;
+import com.example.job_portal.repository.JobSuggestionSource;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SuggestionIndexTests {
+
+	private final JobRepository jobRepository = mock(JobRepository.class);
+	private final SuggestionIndex index = new SuggestionIndex(jobRepository);
+	private final List<JobSuggestionSource> jobs = new ArrayList<>();
+
+	@Test
+	void completionsAreRankedByJobCount() {
+		add("Java Developer", "Acme", "Berlin");
+		add("Java Developer", "Acme", "Berlin");
+		add("Java Developer", "Initech", "Munich");
+		add("JavaScript Engineer", "Initech", "Berlin");
+		add("Janitor", "Acme", "Hamburg");
+		rebuild();
+
+		assertThat(suggest("ja", SuggestionIndex.Field.TITLE, 10))
+				// Ties by text
+				.containsExactly("Java Developer (3)", "Janitor (1)", "JavaScript Engineer (1)");
+		assertThat(suggest("ja", SuggestionIndex.Field.TITLE, 1)).containsExactly("Java Developer (3)");
+		// All fields together, still by count
+		assertThat(suggest("b", null, 10)).containsExactly("Berlin (3)");
+		assertThat(suggest("a", null, 10)).containsExactly("Acme (3)");
+	}
+
+	@Test
+	void prefixesMatchTheStartOfAnyWordIgnoringCase() {
+		add("Senior Java Developer", "Acme", "Berlin");
+		add("Java Architect", "Acme", "Berlin");
+		rebuild();
+
+		assertThat(suggest("dev", SuggestionIndex.Field.TITLE, 10)).containsExactly("Senior Java Developer (1)");
+		assertThat(suggest("JAVA", SuggestionIndex.Field.TITLE, 10))
+				.containsExactlyInAnyOrder("Senior Java Developer (1)", "Java Architect (1)");
+		assertThat(suggest("  java   dev ", SuggestionIndex.Field.TITLE, 10)).containsExactly("Senior Java Developer (1)");
+		// Whole values and their ends, where the compact trie splits its edges
+		assertThat(suggest("java architect", SuggestionIndex.Field.TITLE, 10)).containsExactly("Java Architect (1)");
+		assertThat(suggest("java architects", SuggestionIndex.Field.TITLE, 10)).isEmpty();
+		// Inside a word is not a prefix
+		assertThat(suggest("veloper", SuggestionIndex.Field.TITLE, 10)).isEmpty();
+		assertThat(suggest("jx", SuggestionIndex.Field.TITLE, 10)).isEmpty();
+		assertThat(suggest(" ", null, 10)).isEmpty();
+	}
+
+	@Test
+	void changesMoveTheCounts() {
+		Job developer = add("Java Developer", "Acme", "Berlin");
+		Job architect = add("Java Architect", "Acme", "Berlin");
+		rebuild();
+
+		Job renamed = new Job(developer);
+		renamed.setTitle("Kotlin Developer");
+		index.onJobChanged(JobChangedEvent.updated(developer, renamed));
+		index.onJobChanged(JobChangedEvent.deleted(architect));
+
+		assertThat(suggest("java", SuggestionIndex.Field.TITLE, 10)).isEmpty();
+		assertThat(suggest("dev", SuggestionIndex.Field.TITLE, 10)).containsExactly("Kotlin Developer (1)");
+		assertThat(suggest("acme", SuggestionIndex.Field.COMPANY, 10)).containsExactly("Acme (1)");
+
+		// Removed values leave no empty branches behind, so they can come back
+		index.onJobChanged(JobChangedEvent.created(architect));
+		assertThat(suggest("java", SuggestionIndex.Field.TITLE, 10)).containsExactly("Java Architect (1)");
+	}
+
+	@Test
+	void rebuildReplacesTheCounts() {
+		add("Java Developer", "Acme", "Berlin");
+		rebuild();
+		jobs.clear();
+		add("Go Developer", "Initech", "Munich");
+
+		rebuild();
+
+		assertThat(suggest("java", null, 10)).isEmpty();
+		assertThat(suggest("go", null, 10)).containsExactly("Go Developer (1)");
+	}
+
+	@Test
+	void changesMadeWhileRebuildingAreAppliedOnce() {
+		Job developer = add("Java Developer", "Acme", "Berlin");
+		Job architect = job(2L, "Java Architect", "Acme", "Berlin");
+		Job renamed = new Job(developer);
+		renamed.setTitle("Kotlin Developer");
+
+		when(jobRepository.findSuggestionSources()).thenAnswer(invocation -> {
+			// Committed after the read started: the architect is missing from it, the rename is not
+			index.onJobChanged(JobChangedEvent.created(architect));
+			index.onJobChanged(JobChangedEvent.updated(developer, renamed));
+			return List.of(source(renamed));
+		});
+		index.rebuild();
+
+		assertThat(suggest("java", SuggestionIndex.Field.TITLE, 10)).containsExactly("Java Architect (1)");
+		assertThat(suggest("dev", SuggestionIndex.Field.TITLE, 10)).containsExactly("Kotlin Developer (1)");
+		assertThat(suggest("acme", SuggestionIndex.Field.COMPANY, 10)).containsExactly("Acme (2)");
+	}
+
+	private Job add(String title, String company, String location) {
+		Job job = job(jobs.size() + 1L, title, company, location);
+		jobs.add(source(job));
+		return job;
+	}
+
+	private void rebuild() {
+		when(jobRepository.findSuggestionSources()).thenReturn(List.copyOf(jobs));
+		index.rebuild();
+	}
+
+	private List<String> suggest(String prefix, SuggestionIndex.Field field, int limit) {
+		return index.suggest(prefix, field, limit).stream()
+				.map(s -> s.getText() + " (" + s.getCount() + ")")
+				.toList();
+	}
+
+	private static Job job(Long id, String title, String company, String location) {
+		Job job = new Job(title, "Backend work", company, location, "Teamwork",
+				BigDecimal.valueOf(50000), BigDecimal.valueOf(60000), null, null, null);
+		job.setId(id);
+		return job;
+	}
+
+	private static JobSuggestionSource source(Job job) {
+		return new JobSuggestionSource() {
+			@Override
+			public Long getId() {
+				return job.getId();
+			}
+
+			@Override
+			public String getTitle() {
+				return job.getTitle();
+			}
+
+			@Override
+			public String getCompany() {
+				return job.getCompany();
+			}
+
+			@Override
+			public String getLocation() {
+				return job.getLocation();
+			}
+		};
+	}
+}
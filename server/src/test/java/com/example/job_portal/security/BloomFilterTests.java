@@ -0,0 +1,51 @@
+package com.example.job_portal.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTests {
+
+	private static final int INSERTIONS = 10_000;
+
+	@Test
+	void addedValuesAreAlwaysFound() {
+		BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+		for (int i = 0; i < INSERTIONS; i++) {
+			filter.add("jti:" + i);
+		}
+
+		for (int i = 0; i < INSERTIONS; i++) {
+			assertThat(filter.mightContain("jti:" + i)).as("jti:%d", i).isTrue();
+		}
+	}
+
+	@Test
+	void falsePositiveRateIsNearTheConfiguredOne() {
+		for (double rate : new double[] {0.01, 0.001}) {
+			BloomFilter filter = new BloomFilter(INSERTIONS, rate);
+			for (int i = 0; i < INSERTIONS; i++) {
+				filter.add("jti:" + i);
+			}
+
+			int probes = 200_000;
+			int falsePositives = 0;
+			for (int i = 0; i < probes; i++) {
+				if (filter.mightContain("other:" + i)) {
+					falsePositives++;
+				}
+			}
+
+			// Rounding the bit and hash counts keeps it close to, not exactly at, the target
+			assertThat((double) falsePositives / probes).as("rate %s", rate).isBetween(rate / 3, rate * 2);
+		}
+	}
+
+	@Test
+	void emptyFilterContainsNothing() {
+		BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+
+		assertThat(filter.mightContain("jti:1")).isFalse();
+		assertThat(filter.mightContain("")).isFalse();
+	}
+}
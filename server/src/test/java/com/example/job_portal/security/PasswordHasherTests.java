@@ -0,0 +1,47 @@
+package com.example.job_portal.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHasherTests {
+
+	@AfterEach
+	void clearContext() {
+		MDC.clear();
+	}
+
+	@Test
+	void callingThreadKeepsItsContextWithoutTheDedicatedExecutor() throws Exception {
+		PasswordHasher hasher = hasher(false);
+		MDC.put("correlationId", "request-1");
+
+		String seen = hasher.encode("secret").thenApply(hash -> MDC.get("correlationId")).get();
+
+		assertThat(seen).isEqualTo("request-1");
+		assertThat(MDC.get("correlationId")).isEqualTo("request-1");
+		hasher.shutdown();
+	}
+
+	@Test
+	void contextIsCarriedToTheDedicatedExecutor() throws Exception {
+		PasswordHasher hasher = hasher(true);
+		MDC.put("correlationId", "request-2");
+
+		String seen = hasher.encode("secret").thenApply(hash -> MDC.get("correlationId")).get();
+
+		assertThat(seen).isEqualTo("request-2");
+		assertThat(MDC.get("correlationId")).isEqualTo("request-2");
+		hasher.shutdown();
+	}
+
+	private static PasswordHasher hasher(boolean dedicatedExecutor) {
+		// Strength 4 keeps BCrypt fast; continuations run on a plain thread here
+		return new PasswordHasher(4, 1, 4, dedicatedExecutor, command -> new Thread(command).start(),
+				new DefaultListableBeanFactory().getBeanProvider(MeterRegistry.class));
+	}
+}
@@ -0,0 +1,70 @@
+package com.example.job_portal.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTests {
+
+	private static final int CAPACITY = 3;
+	private static final long REFILL = 1_000_000_000L; // one token per second
+	// Any System.nanoTime() value, negative ones included
+	private static final long START = -5_000_000_000L;
+
+	private final TokenBucket bucket = new TokenBucket();
+
+	@Test
+	void fullBucketAllowsABurstOfCapacity() {
+		for (int i = 0; i < CAPACITY; i++) {
+			assertThat(acquire(START)).as("request %d", i).isZero();
+		}
+		assertThat(acquire(START)).isEqualTo(REFILL);
+	}
+
+	@Test
+	void waitIsTheTimeUntilTheNextToken() {
+		drain(START);
+
+		assertThat(acquire(START + REFILL / 4)).isEqualTo(REFILL * 3 / 4);
+		assertThat(acquire(START + REFILL / 2)).isEqualTo(REFILL / 2);
+		// A refused request takes nothing, so the token is there when promised
+		assertThat(acquire(START + REFILL)).isZero();
+		assertThat(acquire(START + REFILL)).isEqualTo(REFILL);
+	}
+
+	@Test
+	void tokensRefillAtTheRateUpToCapacity() {
+		drain(START);
+
+		// Two intervals give two tokens
+		assertThat(acquire(START + 2 * REFILL)).isZero();
+		assertThat(acquire(START + 2 * REFILL)).isZero();
+		assertThat(acquire(START + 2 * REFILL)).isPositive();
+
+		// A long idle period refills the bucket, but only to capacity
+		long later = START + 100 * REFILL;
+		for (int i = 0; i < CAPACITY; i++) {
+			assertThat(acquire(later)).as("request %d", i).isZero();
+		}
+		assertThat(acquire(later)).isEqualTo(REFILL);
+	}
+
+	@Test
+	void steadyRateAtTheRefillRateIsAlwaysAllowed() {
+		drain(START);
+
+		for (int i = 1; i <= 10; i++) {
+			assertThat(acquire(START + i * REFILL)).as("second %d", i).isZero();
+		}
+	}
+
+	private long acquire(long now) {
+		return bucket.tryAcquire(now, CAPACITY, REFILL);
+	}
+
+	private void drain(long now) {
+		while (acquire(now) == 0) {
+			// take every token
+		}
+	}
+}
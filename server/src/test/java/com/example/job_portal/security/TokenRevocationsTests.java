@@ -0,0 +1,132 @@
+package com.example.job_portal.security;
+
+import com.example.job_portal.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+class TokenRevocationsTests {
+
+	private static final long USER_ID = 42;
+
+	@Autowired
+	private RevokedTokenRepository revokedTokenRepository;
+
+	private final ObjectProvider<MeterRegistry> noRegistry =
+			new DefaultListableBeanFactory().getBeanProvider(MeterRegistry.class);
+	private final JwtUtil jwtUtil = new JwtUtil(false, 10, noRegistry);
+
+	private TokenRevocations revocations;
+
+	@BeforeEach
+	void setUp() {
+		revocations = instance(Duration.ofMinutes(15));
+	}
+
+	@Test
+	void revokedTokenIsRejectedOthersAreNot() {
+		Claims revoked = token(Instant.now());
+		Claims other = token(Instant.now());
+
+		revocations.revokeToken(revoked);
+
+		assertThat(revocations.isRevoked(revoked)).isTrue();
+		assertThat(revocations.isRevoked(other)).isFalse();
+	}
+
+	@Test
+	void revokeAllCutsOffEarlierTokensOnly() {
+		Claims earlier = token(Instant.now().minusSeconds(60));
+		revocations.revokeAllForUser(USER_ID);
+		// Issue times have second precision, so the next token is at least a second later
+		Claims later = token(Instant.now().plusSeconds(2));
+
+		assertThat(revocations.isRevoked(earlier)).isTrue();
+		assertThat(revocations.isRevoked(later)).isFalse();
+	}
+
+	@Test
+	void revocationsOfExpiredWindowsAreDropped() {
+		TokenRevocations secondWindows = instance(Duration.ofSeconds(1));
+		// Expired in a window that has ended, so it is neither checked nor kept
+		Claims expired = token(Instant.now().minusSeconds(60), Instant.now().minusSeconds(5));
+		Claims current = token(Instant.now());
+		secondWindows.revokeToken(expired);
+		secondWindows.revokeToken(current);
+
+		assertThat(secondWindows.isRevoked(expired)).isFalse();
+		assertThat(secondWindows.isRevoked(current)).isTrue();
+
+		secondWindows.sync();
+		assertThat(revokedTokenRepository.existsById(TokenRevocations.TOKEN_PREFIX + expired.getId())).isFalse();
+		assertThat(revokedTokenRepository.existsById(TokenRevocations.TOKEN_PREFIX + current.getId())).isTrue();
+		assertThat(secondWindows.isRevoked(current)).isTrue();
+	}
+
+	@Test
+	void revocationsOfAnotherInstanceApplyAfterSync() {
+		TokenRevocations other = instance(Duration.ofMinutes(15));
+		Claims token = token(Instant.now());
+		Claims earlier = token(Instant.now().minusSeconds(60));
+
+		other.revokeToken(token);
+		other.revokeAllForUser(USER_ID + 1);
+		earlier.put(JwtUtil.USER_ID_CLAIM, USER_ID + 1);
+
+		// Not in this instance's filters until the next scheduled sync
+		assertThat(revocations.isRevoked(token)).isFalse();
+		assertThat(revocations.isRevoked(earlier)).isFalse();
+
+		revocations.sync();
+
+		assertThat(revocations.isRevoked(token)).isTrue();
+		assertThat(revocations.isRevoked(earlier)).isTrue();
+	}
+
+	@Test
+	void startupLoadsRevocationsInForce() {
+		Claims token = token(Instant.now());
+		revocations.revokeToken(token);
+
+		TokenRevocations restarted = instance(Duration.ofMinutes(15));
+
+		assertThat(restarted.isRevoked(token)).isTrue();
+	}
+
+	private TokenRevocations instance(Duration window) {
+		TokenRevocations instance = new TokenRevocations(revokedTokenRepository, jwtUtil, window, 1000, 0.01,
+				Duration.ofSeconds(30), noRegistry);
+		instance.loadRevocations();
+		return instance;
+	}
+
+	private Claims token(Instant issuedAt) {
+		return token(issuedAt, issuedAt.plus(jwtUtil.getTokenLifetime()));
+	}
+
+	private static Claims token(Instant issuedAt, Instant expiresAt) {
+		Claims claims = Jwts.claims();
+		claims.setId(UUID.randomUUID().toString());
+		claims.setIssuedAt(Date.from(issuedAt));
+		claims.setExpiration(Date.from(expiresAt));
+		claims.put(JwtUtil.USER_ID_CLAIM, USER_ID);
+		return claims;
+	}
+}
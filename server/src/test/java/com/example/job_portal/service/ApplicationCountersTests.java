@@ -0,0 +1,87 @@
+package com.example.job_portal.service;
+
+import com.example.job_portal.model.Job;
+import com.example.job_portal.model.JobApplication;
+import com.example.job_portal.model.JobApplicationCounter;
+import com.example.job_portal.model.Role;
+import com.example.job_portal.model.User;
+import com.example.job_portal.repository.JobApplicationCounterRepository;
+import com.example.job_portal.repository.JobApplicationRepository;
+import com.example.job_portal.repository.JobRepository;
+import com.example.job_portal.repository.UserRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(ApplicationCounters.class)
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+class ApplicationCountersTests {
+
+	@Autowired
+	private ApplicationCounters applicationCounters;
+
+	@Autowired
+	private JobApplicationCounterRepository counterRepository;
+
+	@Autowired
+	private JobApplicationRepository jobApplicationRepository;
+
+	@Autowired
+	private JobRepository jobRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void startupSeedsCountsOfJobsWithoutACounterRow() {
+		User recruiter = userRepository.save(user("recruiter", Role.RECRUITER));
+		Job unseeded = jobRepository.save(job("Java Developer", recruiter));
+		Job seeded = jobRepository.save(job("Go Developer", recruiter));
+		apply(unseeded, user("seeker1", Role.JOB_SEEKER), "Pending");
+		apply(unseeded, user("seeker2", Role.JOB_SEEKER), "Accepted");
+		apply(seeded, user("seeker3", Role.JOB_SEEKER), "Pending");
+		// Already counted before: its row is kept as it is
+		counterRepository.saveAndFlush(new JobApplicationCounter(seeded.getId(), 5, 5, 0, 0));
+
+		applicationCounters.afterPropertiesSet();
+		applicationCounters.attach(List.of(unseeded, seeded));
+
+		JobApplicationCounter counts = unseeded.getApplicationCounts();
+		assertThat(counts.getTotal()).isEqualTo(2);
+		assertThat(counts.getPending()).isEqualTo(1);
+		assertThat(counts.getAccepted()).isEqualTo(1);
+		assertThat(counts.getRejected()).isZero();
+		assertThat(seeded.getApplicationCounts().getTotal()).isEqualTo(5);
+	}
+
+	private void apply(Job job, User applicant, String status) {
+		JobApplication application = new JobApplication();
+		application.setJob(job);
+		application.setApplicant(userRepository.save(applicant));
+		application.setStatus(status);
+		jobApplicationRepository.saveAndFlush(application);
+	}
+
+	private static Job job(String title, User recruiter) {
+		return new Job(title, "Backend work", "Acme", "Berlin", "Teamwork",
+				BigDecimal.valueOf(50000), BigDecimal.valueOf(60000), null, null, recruiter);
+	}
+
+	private static User user(String username, Role role) {
+		User user = new User();
+		user.setUsername(username);
+		user.setEmail(username + "@example.com");
+		user.setPassword("secret");
+		user.setRole(role);
+		return user;
+	}
+}
@@ -0,0 +1,89 @@
+package com.example.job_portal.service;
+
+import com.example.job_portal.event.JobChangedEvent;
+import com.example.job_portal.geo.Gazetteer;
+import com.example.job_portal.model.Job;
+import com.example.job_portal.model.Role;
+import com.example.job_portal.model.User;
+import com.example.job_portal.repository.JobRepository;
+import com.example.job_portal.repository.UserRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+class CoordinateBackfillTests {
+
+	@Autowired
+	private JobRepository jobRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private final List<Object> events = new ArrayList<>();
+	private CoordinateBackfill backfill;
+	private User recruiter;
+
+	@BeforeEach
+	void setUp() {
+		recruiter = new User();
+		recruiter.setUsername("recruiter");
+		recruiter.setEmail("recruiter@example.com");
+		recruiter.setPassword("secret");
+		recruiter.setRole(Role.RECRUITER);
+		userRepository.save(recruiter);
+
+		backfill = new CoordinateBackfill(jobRepository, new Gazetteer(), events::add);
+	}
+
+	@Test
+	void storesKnownLocationsAndPublishesOnlyThoseChanges() {
+		Job berlin = save("Java Developer", "Berlin");
+		save("Go Developer", "Atlantis");
+
+		assertThat(backfill.backfill()).isEqualTo(1);
+
+		Job stored = jobRepository.findById(berlin.getId()).orElseThrow();
+		assertThat(stored.getLatitude()).isNotNull();
+		assertThat(events).singleElement().satisfies(event -> {
+			JobChangedEvent changed = (JobChangedEvent) event;
+			assertThat(changed.getJobId()).isEqualTo(berlin.getId());
+			assertThat(changed.getPrevious().getLatitude()).isNull();
+			assertThat(changed.getJob().getLatitude()).isEqualTo(stored.getLatitude());
+		});
+
+		// Nothing left to store on the next run
+		events.clear();
+		assertThat(backfill.backfill()).isZero();
+		assertThat(events).isEmpty();
+	}
+
+	@Test
+	void coordinatesAreNotStoredForChangedOrDeletedJobs() {
+		Job moved = save("Java Developer", "Munich");
+		Job deleted = save("Python Engineer", "Berlin");
+		jobRepository.softDelete(deleted.getId());
+
+		// As if read by the backfill before the job moved from Berlin
+		assertThat(jobRepository.setCoordinatesIfMissing(moved.getId(), "Berlin", 52.52, 13.405)).isZero();
+		assertThat(jobRepository.setCoordinatesIfMissing(deleted.getId(), "Berlin", 52.52, 13.405)).isZero();
+
+		assertThat(jobRepository.findById(moved.getId()).orElseThrow().getLatitude()).isNull();
+		assertThat(jobRepository.findById(deleted.getId())).isEmpty();
+	}
+
+	private Job save(String title, String location) {
+		return jobRepository.saveAndFlush(new Job(title, "Backend work", "Acme", location, "Teamwork",
+				BigDecimal.valueOf(50000), BigDecimal.valueOf(60000), null, null, recruiter));
+	}
+}
@@ -0,0 +1,75 @@
+package com.example.job_portal.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyCacheTests {
+
+	private final IdempotencyCache cache = new IdempotencyCache(100, Duration.ofMinutes(1));
+
+	@Test
+	void concurrentRequestWaitsForTheFirstAndSharesItsResponse() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger runs = new AtomicInteger();
+
+		CompletableFuture<ResponseEntity<?>> first = CompletableFuture.supplyAsync(() ->
+				cache.execute(1L, "key", "apply:1", () -> {
+					runs.incrementAndGet();
+					started.countDown();
+					await(release);
+					return ResponseEntity.ok("applied");
+				}));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// Another key is not blocked by the operation in flight
+		assertThat(cache.execute(1L, "other", "apply:2", () -> ResponseEntity.ok("other")).getBody())
+				.isEqualTo("other");
+
+		CompletableFuture<ResponseEntity<?>> retry = CompletableFuture.supplyAsync(() ->
+				cache.execute(1L, "key", "apply:1", () -> {
+					runs.incrementAndGet();
+					return ResponseEntity.ok("applied twice");
+				}));
+		release.countDown();
+
+		assertThat(first.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("applied");
+		assertThat(retry.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("applied");
+		assertThat(runs).hasValue(1);
+	}
+
+	@Test
+	void failedOperationIsNotRemembered() {
+		assertThatThrownBy(() -> cache.execute(1L, "key", "apply:1", () -> {
+			throw new IllegalStateException("database down");
+		})).isInstanceOf(IllegalStateException.class);
+
+		assertThat(cache.execute(1L, "key", "apply:1", () -> ResponseEntity.ok("applied")).getBody())
+				.isEqualTo("applied");
+	}
+
+	@Test
+	void keyReusedForAnotherRequestIsRejected() {
+		cache.execute(1L, "key", "apply:1", () -> ResponseEntity.ok("applied"));
+
+		assertThat(cache.execute(1L, "key", "apply:2", () -> ResponseEntity.ok("applied")).getStatusCode().value())
+				.isEqualTo(422);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
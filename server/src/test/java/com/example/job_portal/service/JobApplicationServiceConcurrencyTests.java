@@ -0,0 +1,148 @@
+package com.example.job_portal.service;
+
+import com.example.job_portal.model.Job;
+import com.example.job_portal.model.Role;
+import com.example.job_portal.model.User;
+import com.example.job_portal.repository.JobApplicationRepository;
+import com.example.job_portal.repository.JobRepository;
+import com.example.job_portal.repository.UserRepository;
+import com.example.job_portal.security.AuthenticatedUser;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+class JobApplicationServiceConcurrencyTests {
+
+	private static final int SEEKERS = 100;
+	private static final int APPLIES_PER_SEEKER = 20;
+	private static final int THREADS = 64;
+
+	@Autowired
+	private JobApplicationService jobApplicationService;
+
+	@Autowired
+	private JobApplicationRepository jobApplicationRepository;
+
+	@Autowired
+	private JobRepository jobRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private Job job;
+	private final List<AuthenticatedUser> seekers = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		jobApplicationRepository.deleteAll();
+		jobRepository.deleteAll();
+		userRepository.deleteAll();
+
+		User recruiter = userRepository.save(user("recruiter", Role.RECRUITER));
+		job = jobRepository.save(new Job("Java Developer", "Build Spring services", "Acme", "Berlin", "Java",
+				BigDecimal.valueOf(1000), BigDecimal.valueOf(2000), null, null, recruiter));
+
+		seekers.clear();
+		for (int i = 0; i < SEEKERS; i++) {
+			seekers.add(AuthenticatedUser.of(userRepository.save(user("seeker" + i, Role.JOB_SEEKER))));
+		}
+	}
+
+	@Test
+	void simultaneousAppliesToOneJobCreateOneApplicationPerSeeker() throws Exception {
+		List<Callable<ResponseEntity<?>>> applies = new ArrayList<>();
+		for (int attempt = 0; attempt < APPLIES_PER_SEEKER; attempt++) {
+			for (AuthenticatedUser seeker : seekers) {
+				applies.add(() -> jobApplicationService.applyForJob(seeker, job.getId(), null));
+			}
+		}
+
+		List<ResponseEntity<?>> responses = runSimultaneously(applies);
+
+		assertThat(responses).hasSize(SEEKERS * APPLIES_PER_SEEKER);
+		assertThat(responses).filteredOn(response -> response.getStatusCode() == HttpStatus.OK).hasSize(SEEKERS);
+		assertThat(responses).filteredOn(response -> response.getStatusCode() == HttpStatus.BAD_REQUEST)
+				.hasSize(SEEKERS * (APPLIES_PER_SEEKER - 1));
+		assertThat(jobApplicationRepository.count()).isEqualTo(SEEKERS);
+	}
+
+	@Test
+	void retriesWithTheSameIdempotencyKeyReplayTheFirstResponse() throws Exception {
+		AuthenticatedUser seeker = seekers.get(0);
+		List<Callable<ResponseEntity<?>>> retries = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			retries.add(() -> jobApplicationService.applyForJob(seeker, job.getId(), "retry-key"));
+		}
+
+		List<ResponseEntity<?>> responses = runSimultaneously(retries);
+
+		assertThat(responses).allSatisfy(response -> {
+			assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+			assertThat(response.getBody()).isEqualTo("Application submitted successfully.");
+		});
+		assertThat(jobApplicationRepository.count()).isEqualTo(1);
+
+		// Without the key, or with it for another job, the apply is not replayed
+		assertThat(jobApplicationService.applyForJob(seeker, job.getId(), null).getStatusCode())
+				.isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(jobApplicationService.applyForJob(seeker, job.getId() + 1, "retry-key").getStatusCode())
+				.isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+	}
+
+	@Test
+	void applyingToAMissingJobIsNotFound() {
+		assertThat(jobApplicationService.applyForJob(seekers.get(0), job.getId() + 1, null).getStatusCode())
+				.isEqualTo(HttpStatus.NOT_FOUND);
+		assertThat(jobApplicationRepository.count()).isZero();
+	}
+
+	private static List<ResponseEntity<?>> runSimultaneously(List<Callable<ResponseEntity<?>>> tasks) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<ResponseEntity<?>>> futures = new ArrayList<>();
+			for (Callable<ResponseEntity<?>> task : tasks) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					return task.call();
+				}));
+			}
+			start.countDown();
+
+			List<ResponseEntity<?>> responses = new ArrayList<>();
+			for (Future<ResponseEntity<?>> future : futures) {
+				responses.add(future.get());
+			}
+			return responses;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static User user(String username, Role role) {
+		User user = new User();
+		user.setUsername(username);
+		user.setEmail(username + "@example.com");
+		user.setPassword("secret");
+		user.setRole(role);
+		return user;
+	}
+}